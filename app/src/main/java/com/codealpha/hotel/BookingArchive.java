@@ -0,0 +1,372 @@
+package com.codealpha.hotel;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bookings whose stays are long over, kept on disk instead of in memory.
+ * Bookings are partitioned by the month their ID was issued, so a lookup by
+ * ID reads a single segment. Each month has an append-only segment file
+ * "archive-yyyy-MM.seg" made of deflate-compressed blocks:
+ * [int count][long revenueCents][int length][int crc32][compressed records]
+ *
+ * Opening the archive reads only the block headers, for the counts and the
+ * revenue. A segment's records are decompressed into a BookingStore the
+ * first time they are needed, and the most recently used segments stay
+ * cached. Archived bookings are read-only.
+ */
+class BookingArchive {
+    private static final String PREFIX = "archive-";
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_SIZE = 4 + 8 + 4 + 4;
+
+    private final File directory;
+    private final Function<String, Room> roomsByNumber;
+    private final IntFunction<Room> roomsById;
+    private final int cacheSize;
+
+    // Bookings per segment, newest month first
+    private final TreeMap<YearMonth, Integer> counts = new TreeMap<>(Collections.reverseOrder());
+    private final LinkedHashMap<YearMonth, BookingStore> cache;
+    private int size;
+    private long revenueCents;
+
+    BookingArchive(File directory, Function<String, Room> roomsByNumber, IntFunction<Room> roomsById,
+            int cacheSize) {
+        this.directory = directory;
+        this.roomsByNumber = roomsByNumber;
+        this.roomsById = roomsById;
+        this.cacheSize = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<YearMonth, BookingStore>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, BookingStore> eldest) {
+                return size() > BookingArchive.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Reads the block headers of every segment. A segment that ends in a
+     * partly written block is truncated to its last complete one.
+     */
+    public synchronized void open() throws IOException {
+        counts.clear();
+        cache.clear();
+        size = 0;
+        revenueCents = 0;
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            YearMonth month = monthOf(file);
+            if (month == null) {
+                continue;
+            }
+            int count = 0;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                long position = 0;
+                long fileSize = channel.size();
+                while (position + HEADER_SIZE <= fileSize) {
+                    header.clear();
+                    channel.read(header, position);
+                    header.flip();
+                    int blockCount = header.getInt();
+                    long blockRevenue = header.getLong();
+                    int length = header.getInt();
+                    if (blockCount < 0 || length < 0 || position + HEADER_SIZE + length > fileSize) {
+                        break;
+                    }
+                    count += blockCount;
+                    revenueCents += blockRevenue;
+                    position += HEADER_SIZE + length;
+                }
+                if (position < fileSize) {
+                    System.err.println("Discarding incomplete archive block of " + file.getName() + " at offset "
+                            + position);
+                    channel.truncate(position);
+                }
+            }
+            if (count > 0) {
+                counts.put(month, count);
+                size += count;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getRevenueCents() {
+        return revenueCents;
+    }
+
+    // The archived booking at an index, newest month first and newest first within a month
+    public synchronized Booking get(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        for (Map.Entry<YearMonth, Integer> entry : counts.entrySet()) {
+            if (index < entry.getValue()) {
+                BookingStore segment = loadOrReport(entry.getKey());
+                int row = segment == null ? -1 : segment.size() - 1 - index;
+                return row >= 0 ? view(segment, row) : null;
+            }
+            index -= entry.getValue();
+        }
+        return null;
+    }
+
+    public synchronized Booking find(String bookingId) {
+        long issued = BookingIdGenerator.issuedAtMillis(bookingId);
+        if (issued >= 0) {
+            YearMonth month = monthOf(issued);
+            return counts.containsKey(month) ? find(loadOrReport(month), bookingId) : null;
+        }
+        for (YearMonth month : counts.keySet()) {
+            Booking booking = find(loadOrReport(month), bookingId);
+            if (booking != null) {
+                return booking;
+            }
+        }
+        return null;
+    }
+
+    private Booking find(BookingStore segment, String bookingId) {
+        int row = segment == null ? -1 : segment.indexOf(bookingId);
+        return row < 0 ? null : view(segment, row);
+    }
+
+    private Booking view(BookingStore segment, int row) {
+        return segment.view(row, roomsById.apply(segment.getRoomId(row)));
+    }
+
+    /**
+     * Appends the bookings to their segments, one compressed block per month,
+     * and forces each segment to disk. Bookings already archived are skipped,
+     * so archiving again after a crash does not duplicate them. Returns how
+     * many were added.
+     */
+    public synchronized int append(List<Booking> bookings) throws IOException {
+        TreeMap<YearMonth, List<Booking>> byMonth = new TreeMap<>();
+        for (Booking booking : bookings) {
+            byMonth.computeIfAbsent(partitionOf(booking), m -> new ArrayList<>()).add(booking);
+        }
+        int added = 0;
+        for (Map.Entry<YearMonth, List<Booking>> entry : byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            BookingStore existing = counts.containsKey(month) ? load(month) : null;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * entry.getValue().size());
+            DataOutputStream out = new DataOutputStream(bytes);
+            int count = 0;
+            long blockRevenue = 0;
+            for (Booking booking : entry.getValue()) {
+                if (existing != null && existing.indexOf(booking.getBookingId()) >= 0) {
+                    continue;
+                }
+                long cents = HotelDataFormat.toCents(booking.getTotalAmount());
+                out.writeUTF(booking.getBookingId());
+                out.writeUTF(booking.getRoom().getRoomNumber());
+                out.writeUTF(booking.getGuestName());
+                out.writeUTF(booking.getEmail());
+                out.writeUTF(booking.getPhone());
+                out.writeInt(booking.getCheckInDay());
+                out.writeInt(booking.getCheckOutDay());
+                out.writeShort(booking.getNumberOfGuests());
+                out.writeByte(booking.getStatus().ordinal());
+                out.writeLong(cents);
+                out.writeLong(booking.getBookedAtMillis());
+                if (HotelStats.earnsRevenue(booking.getStatus())) {
+                    blockRevenue += cents;
+                }
+                count++;
+            }
+            if (count == 0) {
+                continue;
+            }
+            writeBlock(month, count, blockRevenue, bytes.toByteArray());
+            counts.merge(month, count, Integer::sum);
+            cache.remove(month);
+            size += count;
+            revenueCents += blockRevenue;
+            added += count;
+        }
+        return added;
+    }
+
+    private void writeBlock(YearMonth month, int count, long blockRevenue, byte[] records) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(records);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(records.length / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        byte[] body = compressed.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer block = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        block.putInt(count).putLong(blockRevenue).putInt(body.length).putInt((int) crc.getValue()).put(body);
+        block.flip();
+        try (FileChannel channel = FileChannel.open(segmentFile(month).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Decompresses a segment, or returns it from the cache. A segment that
+     * cannot be read is not cached, so the next call reads it again.
+     */
+    private BookingStore load(YearMonth month) throws IOException {
+        BookingStore segment = cache.get(month);
+        if (segment != null) {
+            return segment;
+        }
+        segment = new BookingStore(new HotelStats());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(segmentFile(month))))) {
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                in.readLong();
+                byte[] body = new byte[in.readInt()];
+                int crcValue = in.readInt();
+                in.readFully(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != crcValue) {
+                    System.err.println("Skipping damaged archive block in " + segmentFile(month).getName());
+                    continue;
+                }
+                readBlock(segment, count, inflate(body));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Damaged archive block in " + segmentFile(month).getName(), e);
+        }
+        cache.put(month, segment);
+        return segment;
+    }
+
+    // For reads, which show a segment that cannot be read as empty
+    private BookingStore loadOrReport(YearMonth month) {
+        try {
+            return load(month);
+        } catch (IOException e) {
+            System.err.println("Error reading archive " + segmentFile(month).getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] inflate(byte[] body) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(body);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 4);
+        byte[] chunk = new byte[8192];
+        while (!inflater.finished()) {
+            int inflated = inflater.inflate(chunk);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            out.write(chunk, 0, inflated);
+        }
+        inflater.end();
+        return out.toByteArray();
+    }
+
+    private void readBlock(BookingStore segment, int count, byte[] records) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(records));
+        for (int i = 0; i < count; i++) {
+            String bookingId = in.readUTF();
+            String roomNumber = in.readUTF();
+            String guestName = in.readUTF();
+            String email = in.readUTF();
+            String phone = in.readUTF();
+            int checkInDay = in.readInt();
+            int checkOutDay = in.readInt();
+            int guests = in.readShort();
+            BookingStatus status = BookingStatus.values()[in.readByte()];
+            long cents = in.readLong();
+            long bookedAt = in.readLong();
+            Room room = roomsByNumber.apply(roomNumber);
+            if (room == null) {
+                System.err.println("Skipping archived booking " + bookingId + " for unknown room " + roomNumber);
+                continue;
+            }
+            segment.add(bookingId, room.getId(), guestName, email, phone, checkInDay, checkOutDay, guests, status,
+                    cents, bookedAt);
+        }
+    }
+
+    /**
+     * Deletes every segment and returns the revenue the archive held.
+     */
+    public synchronized long clear() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    System.err.println("Could not delete archive segment " + file.getName());
+                }
+            }
+        }
+        long cleared = revenueCents;
+        counts.clear();
+        cache.clear();
+        size = 0;
+        revenueCents = 0;
+        return cleared;
+    }
+
+    private static YearMonth partitionOf(Booking booking) {
+        long issued = BookingIdGenerator.issuedAtMillis(booking.getBookingId());
+        return monthOf(issued >= 0 ? issued : booking.getBookedAtMillis());
+    }
+
+    private static YearMonth monthOf(long millis) {
+        return YearMonth.from(Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()));
+    }
+
+    private static YearMonth monthOf(File segment) {
+        String name = segment.getName();
+        try {
+            return YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private File segmentFile(YearMonth month) {
+        return new File(directory, PREFIX + month + SUFFIX);
+    }
+}
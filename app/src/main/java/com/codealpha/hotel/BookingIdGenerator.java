@@ -0,0 +1,100 @@
+package com.codealpha.hotel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style booking IDs: 40 bits of milliseconds since 2024-01-01,
+ * a 10-bit node ID and a 12-bit sequence, written as "BK" plus 12 base-36
+ * digits so IDs sort by creation time and never clash with the older
+ * "BK" + epoch-millis form.
+ *
+ * Issuing is a single CAS on the last (timestamp, sequence) pair. When more
+ * than 4096 IDs are needed in one millisecond the sequence carries into the
+ * timestamp, borrowing from the next millisecond instead of waiting. Seeding
+ * with the IDs already on disk keeps the clock ahead of them across restarts,
+ * even if the wall clock has gone backwards.
+ */
+class BookingIdGenerator {
+    static final String PREFIX = "BK";
+    static final int MAX_NODE = 1023;
+
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int DIGITS = 12;
+
+    private static final BookingIdGenerator DEFAULT = new BookingIdGenerator(Integer.getInteger("hotel.nodeId", 0));
+
+    private final long node;
+    private final AtomicLong clock = new AtomicLong();
+
+    BookingIdGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+
+    // The generator shared by every booking in this JVM; -Dhotel.nodeId sets its node
+    static BookingIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    public String nextId() {
+        return encode(nextValue());
+    }
+
+    long nextValue() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long next = clock.accumulateAndGet(now, (last, fresh) -> fresh > last ? fresh : last + 1);
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+
+    // Moves the clock past an ID issued earlier; IDs of other formats are ignored
+    public void observe(String bookingId) {
+        long value = decode(bookingId);
+        if (value >= 0) {
+            long issued = (value >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (value & SEQUENCE_MASK);
+            clock.accumulateAndGet(issued, Math::max);
+        }
+    }
+
+    // When an ID of either format was issued, or -1 for IDs of any other form
+    static long issuedAtMillis(String bookingId) {
+        long value = decode(bookingId);
+        if (value >= 0) {
+            return (value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+        }
+        if (bookingId != null && bookingId.length() == PREFIX.length() + 13 && bookingId.startsWith(PREFIX)) {
+            try {
+                return Long.parseLong(bookingId.substring(PREFIX.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    static String encode(long value) {
+        char[] digits = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), digits, 0);
+        for (int i = digits.length - 1; i >= PREFIX.length(); i--) {
+            digits[i] = Character.toUpperCase(Character.forDigit((int) (value % 36), 36));
+            value /= 36;
+        }
+        return new String(digits);
+    }
+
+    static long decode(String bookingId) {
+        if (bookingId == null || bookingId.length() != PREFIX.length() + DIGITS || !bookingId.startsWith(PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(bookingId.substring(PREFIX.length()), 36);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.codealpha.hotel;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of hotel changes. Each mutation costs one small record
+ * instead of a rewrite of the whole data set. Records are framed as
+ * [int length][byte type][long sequence][payload][int crc32] and numbered
+ * consecutively, so recovery can replay exactly the tail after a snapshot.
+ * The journal is split into segments named after their first sequence
+ * number; a new segment is started after every snapshot so that covered
+ * segments can be deleted whole.
+ */
+class BookingJournal {
+    // Bookings journaled with check-in and check-out as millis and the total
+    // as a double; still replayed, no longer written
+    static final byte CREATED_V1 = 1;
+    static final byte CONFIRMED = 2;
+    static final byte CANCELLED = 3;
+    static final byte ROOM_ADDED = 4;
+    // Bookings with epoch days and cents, like snapshots, so replay does not
+    // depend on the time zone the journal was written in
+    static final byte CREATED = 5;
+    static final byte GROUP_CREATED = 6;
+    static final byte COMPLETED = 7;
+
+    private static final String SEGMENT_PREFIX = "bookings-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int BATCH_RECORDS = 64;
+    private static final long BATCH_NANOS = 100_000_000L;
+
+    /**
+     * Receives journal events during replay.
+     */
+    interface Handler {
+        void created(Booking booking);
+
+        void statusChanged(String bookingId, BookingStatus status);
+
+        void roomAdded(Room room);
+    }
+
+    private final File directory;
+    private final FsyncPolicy fsyncPolicy;
+    private FileChannel channel;
+    private long lastSequence;
+    private int unsyncedRecords;
+    private long lastSyncNanos = System.nanoTime();
+
+    public BookingJournal(File directory, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * One encoded change. Changes are encoded by the thread making them,
+     * before they are applied, so a change that cannot be journaled is
+     * refused rather than made. Records are numbered only when appended.
+     */
+    static final class Record {
+        final byte type;
+        final byte[] payload;
+        final boolean forceSync;
+
+        private Record(byte type, byte[] payload, boolean forceSync) {
+            this.type = type;
+            this.payload = payload;
+            this.forceSync = forceSync;
+        }
+
+        // Bytes the record takes in a segment: length, type, sequence, payload and CRC
+        int framedSize() {
+            return 4 + 1 + 8 + payload.length + 4;
+        }
+    }
+
+    static Record created(Booking booking) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        writeBooking(new DataOutputStream(bytes), booking);
+        return new Record(CREATED, bytes.toByteArray(), false);
+    }
+
+    /**
+     * A group of new bookings as one record, so replay restores all of them
+     * or none. It is forced to disk when appended unless the policy leaves
+     * flushing to the operating system.
+     */
+    static Record groupCreated(List<Booking> bookings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 * bookings.size() + 4);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(bookings.size());
+        for (Booking booking : bookings) {
+            writeBooking(out, booking);
+        }
+        return new Record(GROUP_CREATED, bytes.toByteArray(), true);
+    }
+
+    private static void writeBooking(DataOutputStream out, Booking booking) throws IOException {
+        writeString(out, booking.getBookingId());
+        writeString(out, booking.getRoom().getRoomNumber());
+        writeString(out, booking.getGuestName());
+        writeString(out, booking.getEmail());
+        writeString(out, booking.getPhone());
+        out.writeInt(booking.getCheckInDay());
+        out.writeInt(booking.getCheckOutDay());
+        out.writeInt(booking.getNumberOfGuests());
+        out.writeByte(booking.getStatus().ordinal());
+        out.writeLong(HotelDataFormat.toCents(booking.getTotalAmount()));
+        out.writeLong(booking.getBookingDate().getTime());
+    }
+
+    static Record statusChanged(String bookingId, BookingStatus status) throws IOException {
+        byte type;
+        switch (status) {
+            case CONFIRMED:
+                type = CONFIRMED;
+                break;
+            case CANCELLED:
+                type = CANCELLED;
+                break;
+            case COMPLETED:
+                type = COMPLETED;
+                break;
+            default:
+                throw new IllegalArgumentException("No journal event for status " + status);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        writeString(new DataOutputStream(bytes), bookingId);
+        return new Record(type, bytes.toByteArray(), false);
+    }
+
+    static Record roomAdded(Room room) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, room.getRoomNumber());
+        out.writeByte(room.getCategory().ordinal());
+        out.writeDouble(room.getPricePerNight());
+        out.writeInt(room.getMaxCapacity());
+        return new Record(ROOM_ADDED, bytes.toByteArray(), false);
+    }
+
+    // Strings carry an int byte count; writeUTF cannot encode more than 65535 bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Numbers the records consecutively and appends them with a single write,
+     * then syncs as the policy says, or regardless of it when {@code force}
+     * is set. Returns whether every appended record is now on disk. If the
+     * write or the sync fails the segment is cut back to where it was, so
+     * the same records can be appended again.
+     */
+    public synchronized boolean append(List<Record> records, boolean force) throws IOException {
+        int size = 0;
+        for (Record record : records) {
+            size += record.framedSize();
+            force |= record.forceSync && fsyncPolicy != FsyncPolicy.OS_BUFFERED;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        long sequence = lastSequence;
+        CRC32 crc = new CRC32();
+        for (Record record : records) {
+            int start = buffer.position();
+            buffer.putInt(1 + 8 + record.payload.length).put(record.type).putLong(++sequence).put(record.payload);
+            crc.reset();
+            crc.update(buffer.array(), start + 4, 1 + 8 + record.payload.length);
+            buffer.putInt((int) crc.getValue());
+        }
+        buffer.flip();
+
+        FileChannel ch = channel();
+        long start = ch.size();
+        boolean durable = false;
+        try {
+            while (buffer.hasRemaining()) {
+                ch.write(buffer);
+            }
+            if (force || fsyncPolicy == FsyncPolicy.PER_WRITE || syncDue()) {
+                ch.force(false);
+                durable = true;
+            }
+        } catch (IOException e) {
+            try {
+                ch.truncate(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        lastSequence = sequence;
+        unsyncedRecords += records.size();
+        if (durable) {
+            unsyncedRecords = 0;
+            lastSyncNanos = System.nanoTime();
+        }
+        return durable;
+    }
+
+    /**
+     * Syncs records left unsynced by the batched policy once they have waited
+     * long enough; returns whether it did.
+     */
+    public synchronized boolean syncIfDue() throws IOException {
+        if (unsyncedRecords > 0 && syncDue()) {
+            sync();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean syncDue() {
+        return fsyncPolicy == FsyncPolicy.BATCHED
+                && (unsyncedRecords >= BATCH_RECORDS || System.nanoTime() - lastSyncNanos >= BATCH_NANOS);
+    }
+
+    /**
+     * Replays, in order, every intact record numbered after {@code afterSequence}
+     * and returns how many were applied. Replay stops at the first damaged or
+     * out-of-order record: the damaged segment is truncated there and any later
+     * segments are set aside with a ".corrupt" suffix.
+     */
+    public synchronized int replay(long afterSequence, Function<String, Room> rooms, Handler handler)
+            throws IOException {
+        lastSequence = afterSequence;
+        int applied = 0;
+        File[] segments = segments();
+        for (int i = 0; i < segments.length; i++) {
+            File segment = segments[i];
+            long validLength = 0;
+            boolean damaged = false;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (length < 9 || length > segment.length()) {
+                        damaged = true;
+                        break;
+                    }
+                    byte[] body = new byte[length];
+                    int crcValue;
+                    try {
+                        in.readFully(body);
+                        crcValue = in.readInt();
+                    } catch (EOFException e) {
+                        damaged = true;
+                        break;
+                    }
+                    CRC32 crc = new CRC32();
+                    crc.update(body);
+                    long sequence = ByteBuffer.wrap(body, 1, 8).getLong();
+                    if ((int) crc.getValue() != crcValue
+                            || (sequence > afterSequence && sequence != lastSequence + 1)) {
+                        damaged = true;
+                        break;
+                    }
+                    if (sequence > afterSequence) {
+                        apply(body, rooms, handler);
+                        lastSequence = sequence;
+                        applied++;
+                    }
+                    validLength += 4 + length + 4;
+                }
+            }
+
+            if (damaged) {
+                System.err.println("Discarding damaged journal tail of " + segment.getName() + " at offset "
+                        + validLength);
+                try (FileChannel ch = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE)) {
+                    ch.truncate(validLength);
+                }
+                for (int j = i + 1; j < segments.length; j++) {
+                    File quarantined = new File(segments[j].getPath() + ".corrupt");
+                    if (!segments[j].renameTo(quarantined)) {
+                        System.err.println("Could not set aside journal segment " + segments[j].getName());
+                    }
+                }
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private void apply(byte[] body, Function<String, Room> rooms, Handler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body, 9, body.length - 9));
+        switch (body[0]) {
+            case CREATED_V1:
+                readBooking(in, false, rooms, handler);
+                break;
+            case CREATED:
+                readBooking(in, true, rooms, handler);
+                break;
+            case GROUP_CREATED: {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    readBooking(in, true, rooms, handler);
+                }
+                break;
+            }
+            case CONFIRMED:
+                handler.statusChanged(readString(in), BookingStatus.CONFIRMED);
+                break;
+            case CANCELLED:
+                handler.statusChanged(readString(in), BookingStatus.CANCELLED);
+                break;
+            case COMPLETED:
+                handler.statusChanged(readString(in), BookingStatus.COMPLETED);
+                break;
+            case ROOM_ADDED: {
+                String roomNumber = readString(in);
+                RoomCategory category = RoomCategory.values()[in.readByte()];
+                double price = in.readDouble();
+                int capacity = in.readInt();
+                handler.roomAdded(new Room(roomNumber, category, price, capacity));
+                break;
+            }
+            default:
+                System.err.println("Skipping unknown journal record type " + body[0]);
+        }
+    }
+
+    private static void readBooking(DataInputStream in, boolean epochDays, Function<String, Room> rooms,
+            Handler handler) throws IOException {
+        String bookingId = readString(in);
+        String roomNumber = readString(in);
+        String guestName = readString(in);
+        String email = readString(in);
+        String phone = readString(in);
+        Date checkIn = epochDays ? Days.toDate(in.readInt()) : new Date(in.readLong());
+        Date checkOut = epochDays ? Days.toDate(in.readInt()) : new Date(in.readLong());
+        int guests = in.readInt();
+        BookingStatus status = BookingStatus.values()[in.readByte()];
+        double totalAmount = epochDays ? HotelDataFormat.fromCents(in.readLong()) : in.readDouble();
+        Date bookingDate = new Date(in.readLong());
+
+        Room room = rooms.apply(roomNumber);
+        if (room == null) {
+            System.err.println("Skipping journaled booking " + bookingId + " for unknown room " + roomNumber);
+            return;
+        }
+        handler.created(new Booking(bookingId, room, guestName, email, phone, checkIn, checkOut, guests,
+                status, totalAmount, bookingDate));
+    }
+
+    /**
+     * Closes the current segment so the next record starts a new one.
+     */
+    public synchronized void rotate() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Deletes segments whose records are all covered by a snapshot taken at
+     * {@code sequence}.
+     */
+    public synchronized void deleteSegmentsThrough(long sequence) {
+        File[] segments = segments();
+        for (int i = 0; i + 1 < segments.length; i++) {
+            if (firstSequence(segments[i + 1]) <= sequence + 1 && !segments[i].delete()) {
+                System.err.println("Could not delete journal segment " + segments[i].getName());
+            }
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (channel != null && unsyncedRecords > 0) {
+            channel.force(false);
+        }
+        unsyncedRecords = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    public synchronized void close() throws IOException {
+        rotate();
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            File segment = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, lastSequence + 1,
+                    SEGMENT_SUFFIX));
+            channel = FileChannel.open(segment.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private File[] segments() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new File[0];
+        }
+        List<File> valid = new ArrayList<>();
+        for (File file : files) {
+            if (firstSequence(file) >= 0) {
+                valid.add(file);
+            }
+        }
+        File[] sorted = valid.toArray(new File[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+        return sorted;
+    }
+
+    private static long firstSequence(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.codealpha.hotel;
+
+import java.util.Date;
+
+/**
+ * One room of a group booking, as passed to HotelManager.createBookings.
+ */
+class BookingRequest {
+    private final String roomNumber;
+    private final String guestName;
+    private final String email;
+    private final String phone;
+    private final Date checkIn;
+    private final Date checkOut;
+    private final int guests;
+
+    BookingRequest(String roomNumber, String guestName, String email, String phone, Date checkIn, Date checkOut,
+            int guests) {
+        this.roomNumber = roomNumber;
+        this.guestName = guestName;
+        this.email = email;
+        this.phone = phone;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.guests = guests;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public Date getCheckIn() {
+        return checkIn;
+    }
+
+    public Date getCheckOut() {
+        return checkOut;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+}
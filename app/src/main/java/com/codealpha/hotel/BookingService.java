@@ -0,0 +1,430 @@
+package com.codealpha.hotel;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless HTTP front end for HotelManager, built on the JDK's HTTP server.
+ * Each request runs on its own virtual thread when the JDK provides them,
+ * otherwise on a cached thread pool.
+ *
+ * <pre>
+ * GET  /rooms/search?category=DELUXE&amp;guests=2&amp;checkIn=2026-11-01&amp;checkOut=2026-11-03
+ * GET  /rooms/availability?checkIn=2026-11-01&amp;checkOut=2026-11-03   free rooms per category,
+ *                            for stays within the booking calendar
+ * GET  /rooms/next-available?category=SUITE&amp;guests=2&amp;from=2026-11-01&amp;nights=3&amp;limit=5
+ * POST /bookings            room, guestName, email, phone, checkIn, checkOut, guests
+ * POST /bookings/group      rooms (comma-separated), guestName, email, phone, checkIn, checkOut, guests
+ * GET  /bookings/{id}
+ * POST /bookings/{id}/confirm
+ * POST /bookings/{id}/cancel
+ * GET  /stats/search-cache   hit rate, evictions and size of the search cache
+ * GET  /metrics              operation latencies, errors and bytes written, as Prometheus text
+ * </pre>
+ *
+ * Parameters may be sent in the query string or as a form-encoded body.
+ * Dates are ISO yyyy-MM-dd; responses are JSON. The service listens on the
+ * loopback interface unless it is given another address to bind.
+ */
+class BookingService {
+    private final HotelManager hotelManager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public BookingService(HotelManager hotelManager, int port) throws IOException {
+        this(hotelManager, InetAddress.getLoopbackAddress(), port);
+    }
+
+    public BookingService(HotelManager hotelManager, InetAddress bindAddress, int port) throws IOException {
+        this.hotelManager = hotelManager;
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/rooms/search", this::handleSearch);
+        server.createContext("/rooms/availability", this::handleAvailability);
+        server.createContext("/rooms/next-available", this::handleNextAvailable);
+        server.createContext("/bookings", this::handleBookings);
+        server.createContext("/stats/search-cache", this::handleSearchCacheStats);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // Virtual threads need JDK 21; look them up reflectively so older JDKs still run
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Use GET"));
+                return;
+            }
+            Map<String, String> params = parameters(exchange);
+            RoomCategory category = params.containsKey("category")
+                    ? RoomCategory.valueOf(params.get("category").toUpperCase())
+                    : null;
+            int guests = Integer.parseInt(params.getOrDefault("guests", "1"));
+            Date checkIn = date(params, "checkIn");
+            Date checkOut = date(params, "checkOut");
+
+            List<Room> rooms = hotelManager.searchRooms(category, guests, checkIn, checkOut);
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < rooms.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                appendRoom(json, rooms.get(i));
+            }
+            send(exchange, 200, json.append(']').toString());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(e.toString()));
+        }
+    }
+
+    // Rooms free on the busiest night of the stay, per category and in total
+    private void handleAvailability(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Use GET"));
+                return;
+            }
+            Map<String, String> params = parameters(exchange);
+            Date checkIn = date(params, "checkIn");
+            Date checkOut = date(params, "checkOut");
+            // Counting outside the calendar scans every room night by night
+            if (!hotelManager.isWithinCalendar(checkIn, checkOut)) {
+                send(exchange, 400, error("Dates must lie between today and " + OccupancyCalendar.HORIZON_DAYS
+                        + " days ahead"));
+                return;
+            }
+            StringBuilder json = new StringBuilder("{");
+            for (RoomCategory category : RoomCategory.values()) {
+                int free = hotelManager.getFreeRoomCount(category, checkIn, checkOut);
+                json.append(quote(category.name())).append(":{\"free\":").append(free)
+                        .append(",\"soldOut\":").append(free == 0).append("},");
+            }
+            json.append("\"total\":").append(hotelManager.getFreeRoomCount(null, checkIn, checkOut)).append('}');
+            send(exchange, 200, json.toString());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(e.toString()));
+        }
+    }
+
+    private void handleNextAvailable(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Use GET"));
+                return;
+            }
+            Map<String, String> params = parameters(exchange);
+            RoomCategory category = params.containsKey("category")
+                    ? RoomCategory.valueOf(params.get("category").toUpperCase())
+                    : null;
+            int guests = Integer.parseInt(params.getOrDefault("guests", "1"));
+            int nights = Integer.parseInt(required(params, "nights"));
+            int limit = Integer.parseInt(params.getOrDefault("limit", "1"));
+
+            List<StayWindow> windows = hotelManager.findAvailableWindows(category, guests, date(params, "from"),
+                    nights, limit);
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < windows.size(); i++) {
+                StayWindow window = windows.get(i);
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"checkIn\":").append(quote(LocalDate.ofEpochDay(window.getCheckInDay()).toString()))
+                        .append(",\"checkOut\":")
+                        .append(quote(LocalDate.ofEpochDay(window.getCheckOutDay()).toString()))
+                        .append(",\"room\":");
+                appendRoom(json, window.getRoom());
+                json.append('}');
+            }
+            send(exchange, 200, json.append(']').toString());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(e.toString()));
+        }
+    }
+
+    private void handleSearchCacheStats(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, error("Use GET"));
+            return;
+        }
+        SearchCache cache = hotelManager.getSearchCache();
+        send(exchange, 200, "{\"size\":" + cache.size()
+                + ",\"capacity\":" + cache.getCapacity()
+                + ",\"hits\":" + cache.getHits()
+                + ",\"misses\":" + cache.getMisses()
+                + ",\"hitRate\":" + cache.getHitRate()
+                + ",\"evictions\":" + cache.getEvictions()
+                + ",\"invalidations\":" + cache.getInvalidations() + "}");
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, error("Use GET"));
+            return;
+        }
+        send(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", hotelManager.getMetrics().toPrometheus());
+    }
+
+    private void handleBookings(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // path[0] is empty, path[1] is "bookings"
+            if (path.length == 2 && "POST".equals(method)) {
+                createBooking(exchange);
+            } else if (path.length == 3 && "POST".equals(method) && "group".equals(path[2])) {
+                createGroupBooking(exchange);
+            } else if (path.length == 3 && "GET".equals(method)) {
+                Booking booking = hotelManager.getBookingById(path[2]);
+                if (booking == null) {
+                    send(exchange, 404, error("No booking " + path[2]));
+                } else {
+                    send(exchange, 200, bookingJson(booking));
+                }
+            } else if (path.length == 4 && "POST".equals(method) && "confirm".equals(path[3])) {
+                if (hotelManager.confirmBooking(path[2])) {
+                    send(exchange, 200, bookingJson(hotelManager.getBookingById(path[2])));
+                } else {
+                    send(exchange, 409, error("Booking " + path[2] + " is not pending"));
+                }
+            } else if (path.length == 4 && "POST".equals(method) && "cancel".equals(path[3])) {
+                if (hotelManager.cancelBooking(path[2])) {
+                    send(exchange, 200, bookingJson(hotelManager.getBookingById(path[2])));
+                } else {
+                    send(exchange, 404, error("No booking " + path[2]));
+                }
+            } else {
+                send(exchange, 404, error("Unknown endpoint"));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(e.toString()));
+        }
+    }
+
+    private void createBooking(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parameters(exchange);
+        String roomNumber = required(params, "room");
+        String guestName = required(params, "guestName");
+        Date checkIn = date(params, "checkIn");
+        Date checkOut = date(params, "checkOut");
+        int guests = Integer.parseInt(params.getOrDefault("guests", "1"));
+        Room room = hotelManager.getRoomByNumber(roomNumber);
+        if (room != null && !fitsRoom(room, guests)) {
+            send(exchange, 400, error(guestsError(room)));
+            return;
+        }
+
+        Booking booking = hotelManager.createBooking(roomNumber, guestName, params.getOrDefault("email", ""),
+                params.getOrDefault("phone", ""), checkIn, checkOut, guests);
+        if (booking == null) {
+            send(exchange, 409, error("Room " + roomNumber + " is not available for those dates"));
+        } else {
+            send(exchange, 201, bookingJson(booking));
+        }
+    }
+
+    // Books the same stay in every listed room, all or nothing
+    private void createGroupBooking(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parameters(exchange);
+        String[] roomNumbers = required(params, "rooms").split(",");
+        String guestName = required(params, "guestName");
+        Date checkIn = date(params, "checkIn");
+        Date checkOut = date(params, "checkOut");
+        int guests = Integer.parseInt(params.getOrDefault("guests", "1"));
+
+        List<BookingRequest> requests = new ArrayList<>(roomNumbers.length);
+        for (String roomNumber : roomNumbers) {
+            Room room = hotelManager.getRoomByNumber(roomNumber.trim());
+            if (room != null && !fitsRoom(room, guests)) {
+                send(exchange, 400, error(guestsError(room)));
+                return;
+            }
+            requests.add(new BookingRequest(roomNumber.trim(), guestName, params.getOrDefault("email", ""),
+                    params.getOrDefault("phone", ""), checkIn, checkOut, guests));
+        }
+        GroupBookingResult result = hotelManager.createBookings(requests);
+        if (!result.isBooked()) {
+            send(exchange, 409, error(result.getReason()));
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\"elapsedMicros\":").append(result.getElapsedNanos() / 1000)
+                .append(",\"bookings\":[");
+        for (int i = 0; i < result.getBookings().size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(bookingJson(result.getBookings().get(i)));
+        }
+        send(exchange, 201, json.append("]}").toString());
+    }
+
+    private static boolean fitsRoom(Room room, int guests) {
+        return guests >= 1 && guests <= room.getMaxCapacity();
+    }
+
+    private static String guestsError(Room room) {
+        return "Room " + room.getRoomNumber() + " takes 1 to " + room.getMaxCapacity() + " guests";
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseInto(exchange.getRequestURI().getRawQuery(), params);
+        if ("POST".equals(exchange.getRequestMethod())) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            parseInto(new String(body.toByteArray(), StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static void parseInto(String encoded, Map<String, String> params) throws UnsupportedEncodingException {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return value.trim();
+    }
+
+    private static Date date(Map<String, String> params, String name) {
+        return Days.toDate((int) LocalDate.parse(required(params, name)).toEpochDay());
+    }
+
+    private static void appendRoom(StringBuilder json, Room room) {
+        json.append("{\"roomNumber\":").append(quote(room.getRoomNumber()))
+                .append(",\"category\":").append(quote(room.getCategory().name()))
+                .append(",\"pricePerNight\":").append(room.getPricePerNight())
+                .append(",\"maxCapacity\":").append(room.getMaxCapacity())
+                .append(",\"amenities\":").append(quote(room.getAmenities()))
+                .append('}');
+    }
+
+    private static String bookingJson(Booking booking) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"bookingId\":").append(quote(booking.getBookingId()))
+                .append(",\"room\":");
+        appendRoom(json, booking.getRoom());
+        json.append(",\"guestName\":").append(quote(booking.getGuestName()))
+                .append(",\"email\":").append(quote(booking.getEmail()))
+                .append(",\"phone\":").append(quote(booking.getPhone()))
+                .append(",\"checkIn\":").append(quote(LocalDate.ofEpochDay(booking.getCheckInDay()).toString()))
+                .append(",\"checkOut\":").append(quote(LocalDate.ofEpochDay(booking.getCheckOutDay()).toString()))
+                .append(",\"guests\":").append(booking.getNumberOfGuests())
+                .append(",\"totalAmount\":").append(booking.getTotalAmount())
+                .append(",\"status\":").append(quote(booking.getStatus().name()))
+                .append('}');
+        return json.toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", body);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
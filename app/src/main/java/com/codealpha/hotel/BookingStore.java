@@ -0,0 +1,320 @@
+package com.codealpha.hotel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * All bookings of a hotel in primitive columns, one row per booking in the
+ * order they were added. Guest names, emails and phones are interned into a
+ * shared pool and stored as ints; a booking ID is the only per-booking
+ * object. Booking objects are created on demand as views of a row.
+ *
+ * Only the status of a row changes; every change is reported to the owning
+ * manager's HotelStats. Rows leave the store only through {@link #clear} and
+ * {@link #removeRows}, which renumber the rest and start a new generation;
+ * a row number is only meaningful within the generation it was read in, and
+ * views built earlier find their row again by booking ID.
+ */
+class BookingStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final HotelStats stats;
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] roomIds = new int[INITIAL_CAPACITY];
+    private int[] checkInDays = new int[INITIAL_CAPACITY];
+    private int[] checkOutDays = new int[INITIAL_CAPACITY];
+    private short[] guests = new short[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private long[] totalCents = new long[INITIAL_CAPACITY];
+    private long[] bookedAtMillis = new long[INITIAL_CAPACITY];
+    private int[] guestNames = new int[INITIAL_CAPACITY];
+    private int[] emails = new int[INITIAL_CAPACITY];
+    private int[] phones = new int[INITIAL_CAPACITY];
+    private int size;
+    private long generation;
+
+    // Open-addressing index from booking ID to row + 1; 0 marks an empty slot
+    private int[] idIndex = new int[INITIAL_CAPACITY * 2];
+
+    private final Map<String, Integer> poolIds = new HashMap<>();
+    private final List<String> pool = new ArrayList<>();
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    // Fields readable one at a time through get(row, field)
+    enum Field { ID, ROOM_ID, GUEST_NAME, CHECK_IN_DAY, CHECK_OUT_DAY, GUESTS, TOTAL_CENTS, STATUS }
+
+    BookingStore(HotelStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Copies a booking into a new row and returns the row, or -1 if a
+     * booking with the same ID is already stored.
+     */
+    public synchronized int add(Booking booking) {
+        return add(booking.getBookingId(), booking.getRoomId(), booking.getGuestName(), booking.getEmail(),
+                booking.getPhone(), booking.getCheckInDay(), booking.getCheckOutDay(),
+                booking.getNumberOfGuests(), booking.getStatus(), HotelDataFormat.toCents(booking.getTotalAmount()),
+                booking.getBookingDate().getTime());
+    }
+
+    public synchronized int add(String id, int roomId, String guestName, String email, String phone,
+            int checkInDay, int checkOutDay, int numberOfGuests, BookingStatus status, long cents,
+            long bookedAt) {
+        if (indexOf(id) >= 0) {
+            return -1;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size;
+        ids[row] = id;
+        roomIds[row] = roomId;
+        checkInDays[row] = checkInDay;
+        checkOutDays[row] = checkOutDay;
+        guests[row] = (short) numberOfGuests;
+        statuses[row] = (byte) status.ordinal();
+        totalCents[row] = cents;
+        bookedAtMillis[row] = bookedAt;
+        guestNames[row] = intern(guestName);
+        emails[row] = intern(email);
+        phones[row] = intern(phone);
+        size++;
+        insertIndex(id, row);
+        stats.statusChanged(cents, null, status);
+        return row;
+    }
+
+    /**
+     * Builds a view of the row whose status reads and writes go through to
+     * this store. The room must be the canonical room of the row.
+     */
+    public synchronized Booking view(int row, Room room) {
+        return new Booking(this, row, generation, ids[row], room, string(guestNames[row]), string(emails[row]),
+                string(phones[row]), checkInDays[row], checkOutDays[row], guests[row], STATUSES[statuses[row]],
+                HotelDataFormat.fromCents(totalCents[row]), bookedAtMillis[row]);
+    }
+
+    public synchronized int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int mask = idIndex.length - 1;
+        for (int slot = spread(id.hashCode()) & mask; idIndex[slot] != 0; slot = (slot + 1) & mask) {
+            int row = idIndex[slot] - 1;
+            if (ids[row].equals(id)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // One field of a row, so a row can be shown without building a view of it
+    public synchronized Object get(int row, Field field) {
+        switch (field) {
+            case ID:
+                return ids[row];
+            case ROOM_ID:
+                return roomIds[row];
+            case GUEST_NAME:
+                return string(guestNames[row]);
+            case CHECK_IN_DAY:
+                return checkInDays[row];
+            case CHECK_OUT_DAY:
+                return checkOutDays[row];
+            case GUESTS:
+                return (int) guests[row];
+            case TOTAL_CENTS:
+                return totalCents[row];
+            default:
+                return STATUSES[statuses[row]];
+        }
+    }
+
+    public synchronized BookingStatus getStatus(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    public synchronized void setStatus(int row, BookingStatus status) {
+        BookingStatus previous = STATUSES[statuses[row]];
+        if (previous != status) {
+            statuses[row] = (byte) status.ordinal();
+            stats.statusChanged(totalCents[row], previous, status);
+        }
+    }
+
+    public synchronized String getId(int row) {
+        return ids[row];
+    }
+
+    public synchronized int getRoomId(int row) {
+        return roomIds[row];
+    }
+
+    public synchronized int getCheckInDay(int row) {
+        return checkInDays[row];
+    }
+
+    public synchronized int getCheckOutDay(int row) {
+        return checkOutDays[row];
+    }
+
+    public synchronized long getBookedAtMillis(int row) {
+        return bookedAtMillis[row];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Moves on whenever rows are removed and the rest renumbered
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    // Withdraws every booking from the dashboard figures and empties the store
+    public synchronized void clear() {
+        for (int row = 0; row < size; row++) {
+            stats.statusChanged(totalCents[row], STATUSES[statuses[row]], null);
+        }
+        Arrays.fill(ids, 0, size, null);
+        Arrays.fill(idIndex, 0);
+        size = 0;
+        generation++;
+        poolIds.clear();
+        pool.clear();
+    }
+
+    /**
+     * Drops the rows the filter selects, withdrawing them from HotelStats,
+     * and closes the gaps, keeping the order of the rest. Returns how many
+     * were dropped. Rows after the first dropped one are renumbered, and the
+     * guest pool is rebuilt from the remaining rows.
+     */
+    public synchronized int removeRows(IntPredicate drop) {
+        List<String> oldPool = new ArrayList<>(pool);
+        poolIds.clear();
+        pool.clear();
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (drop.test(row)) {
+                stats.statusChanged(totalCents[row], STATUSES[statuses[row]], null);
+                continue;
+            }
+            ids[kept] = ids[row];
+            roomIds[kept] = roomIds[row];
+            checkInDays[kept] = checkInDays[row];
+            checkOutDays[kept] = checkOutDays[row];
+            guests[kept] = guests[row];
+            statuses[kept] = statuses[row];
+            totalCents[kept] = totalCents[row];
+            bookedAtMillis[kept] = bookedAtMillis[row];
+            guestNames[kept] = reintern(oldPool, guestNames[row]);
+            emails[kept] = reintern(oldPool, emails[row]);
+            phones[kept] = reintern(oldPool, phones[row]);
+            kept++;
+        }
+        int dropped = size - kept;
+        Arrays.fill(ids, kept, size, null);
+        size = kept;
+        generation++;
+        Arrays.fill(idIndex, 0);
+        for (int row = 0; row < size; row++) {
+            place(ids[row], row + 1);
+        }
+        return dropped;
+    }
+
+    private int reintern(List<String> oldPool, int ref) {
+        return ref < 0 ? -1 : intern(oldPool.get(ref));
+    }
+
+    /**
+     * Passes every row to the visitor in row order, holding the store's lock,
+     * so the visitor sees a consistent state and must not call back into it.
+     */
+    public synchronized void forEach(RowVisitor visitor) throws IOException {
+        for (int row = 0; row < size; row++) {
+            visitor.visit(row, ids[row], roomIds[row], guestNames[row], emails[row], phones[row],
+                    checkInDays[row], checkOutDays[row], guests[row], STATUSES[statuses[row]], totalCents[row],
+                    bookedAtMillis[row]);
+        }
+    }
+
+    interface RowVisitor {
+        void visit(int row, String id, int roomId, int guestName, int email, int phone, int checkInDay,
+                int checkOutDay, int guests, BookingStatus status, long totalCents, long bookedAtMillis)
+                throws IOException;
+    }
+
+    // Guest strings by pool index, in the order they were first seen
+    public synchronized List<String> getPool() {
+        return new ArrayList<>(pool);
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer existing = poolIds.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int index = pool.size();
+        pool.add(value);
+        poolIds.put(value, index);
+        return index;
+    }
+
+    private String string(int ref) {
+        return ref < 0 ? null : pool.get(ref);
+    }
+
+    private void insertIndex(String id, int row) {
+        if (size * 2 > idIndex.length) {
+            int[] old = idIndex;
+            idIndex = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    place(ids[entry - 1], entry);
+                }
+            }
+        }
+        place(id, row + 1);
+    }
+
+    private void place(String id, int entry) {
+        int mask = idIndex.length - 1;
+        int slot = spread(id.hashCode()) & mask;
+        while (idIndex[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idIndex[slot] = entry;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        roomIds = Arrays.copyOf(roomIds, capacity);
+        checkInDays = Arrays.copyOf(checkInDays, capacity);
+        checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+        guests = Arrays.copyOf(guests, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        totalCents = Arrays.copyOf(totalCents, capacity);
+        bookedAtMillis = Arrays.copyOf(bookedAtMillis, capacity);
+        guestNames = Arrays.copyOf(guestNames, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        phones = Arrays.copyOf(phones, capacity);
+    }
+}
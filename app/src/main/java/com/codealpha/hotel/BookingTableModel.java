@@ -0,0 +1,166 @@
+package com.codealpha.hotel;
+
+import java.util.Arrays;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Bookings tab rows, read by position from HotelManager instead of copied.
+ * New bookings join the resident rows, which come before the archived ones,
+ * so a refresh announces the rows inserted at the end of the resident part
+ * and repaints only the rows whose status changed since they were last
+ * shown. Archived rows never change, so only resident rows are compared;
+ * the table formats just the rows it can see, and archived rows are only
+ * read from disk once they are scrolled into view. An archiving run or a
+ * reset moves rows around, so the whole table is reloaded when the
+ * manager's booking order version changes.
+ */
+class BookingTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final byte NO_STATUS = -1;
+    private static final String[] COLUMNS = { "Booking ID", "Room #", "Category", "Guest Name", "Check-in",
+            "Check-out", "Guests", "Total", "Status" };
+    private static final BookingStore.Field[] FIELDS = { BookingStore.Field.ID, BookingStore.Field.ROOM_ID,
+            BookingStore.Field.ROOM_ID, BookingStore.Field.GUEST_NAME, BookingStore.Field.CHECK_IN_DAY,
+            BookingStore.Field.CHECK_OUT_DAY, BookingStore.Field.GUESTS, BookingStore.Field.TOTAL_CENTS,
+            BookingStore.Field.STATUS };
+
+    private final HotelManager hotelManager;
+    private int rowCount;
+    private int residentCount;
+    private long orderVersion;
+    private byte[] shownStatus = new byte[0]; // per resident row, the status ordinal last announced
+
+    BookingTableModel(HotelManager hotelManager) {
+        this.hotelManager = hotelManager;
+    }
+
+    public void refresh() {
+        if (reloadIfReordered()) {
+            return;
+        }
+        int count = hotelManager.getBookingCount();
+        if (count < rowCount) {
+            reload();
+            return;
+        }
+        // Runs of rows whose status moved are announced as one update each
+        int firstChanged = -1;
+        for (int row = 0; row < residentCount; row++) {
+            byte status = statusAt(row);
+            if (status != shownStatus[row]) {
+                shownStatus[row] = status;
+                if (firstChanged < 0) {
+                    firstChanged = row;
+                }
+            } else if (firstChanged >= 0) {
+                fireTableRowsUpdated(firstChanged, row - 1);
+                firstChanged = -1;
+            }
+        }
+        if (firstChanged >= 0) {
+            fireTableRowsUpdated(firstChanged, residentCount - 1);
+        }
+        insertRows(count);
+    }
+
+    public void reload() {
+        orderVersion = hotelManager.getBookingOrderVersion();
+        residentCount = hotelManager.getResidentBookingCount();
+        rowCount = hotelManager.getBookingCount();
+        shownStatus = new byte[residentCount];
+        for (int row = 0; row < residentCount; row++) {
+            shownStatus[row] = statusAt(row);
+        }
+        fireTableDataChanged();
+    }
+
+    // Cheap unless rows have moved; called periodically so archiving shows up
+    public boolean reloadIfReordered() {
+        if (hotelManager.getBookingOrderVersion() == orderVersion) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    // Picks up new bookings, then repaints the row of the given one
+    public void bookingChanged(Booking booking) {
+        if (reloadIfReordered()) {
+            return;
+        }
+        insertRows(hotelManager.getBookingCount());
+        int row = hotelManager.getBookingIndex(booking.getBookingId());
+        if (row >= 0 && row < residentCount) {
+            byte status = statusAt(row);
+            if (status != shownStatus[row]) {
+                shownStatus[row] = status;
+                fireTableRowsUpdated(row, row);
+            }
+        }
+    }
+
+    // Announces the bookings made since the last call, which sit after the
+    // resident rows shown so far and push the archived rows down
+    private void insertRows(int count) {
+        int added = count - rowCount;
+        if (added <= 0) {
+            return;
+        }
+        int first = residentCount;
+        residentCount += added;
+        if (residentCount > shownStatus.length) {
+            shownStatus = Arrays.copyOf(shownStatus, Math.max(residentCount, shownStatus.length * 2));
+        }
+        rowCount = count;
+        for (int row = first; row < residentCount; row++) {
+            shownStatus[row] = statusAt(row);
+        }
+        fireTableRowsInserted(first, residentCount - 1);
+    }
+
+    private byte statusAt(int row) {
+        Object status = hotelManager.getBookingField(row, BookingStore.Field.STATUS);
+        return status == null ? NO_STATUS : (byte) ((BookingStatus) status).ordinal();
+    }
+
+    public Booking getBooking(int row) {
+        return hotelManager.getBookingAt(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    // Reads the one field the cell shows, without a Booking view
+    @Override
+    public Object getValueAt(int row, int column) {
+        Object value = hotelManager.getBookingField(row, FIELDS[column]);
+        if (value == null) {
+            return null;
+        }
+        switch (column) {
+            case 1:
+                return ((Room) value).getRoomNumber();
+            case 2:
+                return ((Room) value).getCategory();
+            case 4:
+            case 5:
+                return HotelReservationSystem.formatDate(Days.toDate((Integer) value));
+            case 7:
+                return "$" + HotelDataFormat.fromCents((Long) value);
+            default:
+                return value;
+        }
+    }
+}
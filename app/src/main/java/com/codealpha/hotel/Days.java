@@ -0,0 +1,26 @@
+package com.codealpha.hotel;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Day-granularity date helpers. Stays are tracked as half-open ranges of
+ * epoch days [check-in, check-out) in the system time zone.
+ */
+final class Days {
+    private Days() {
+    }
+
+    public static int toEpochDay(Date date) {
+        return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    public static Date toDate(int epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+}
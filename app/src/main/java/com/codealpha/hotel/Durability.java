@@ -0,0 +1,25 @@
+package com.codealpha.hotel;
+
+/**
+ * How far a change must have got before the call that made it returns.
+ */
+enum Durability {
+    /** Handed to the journal writer; may be lost if the process dies. */
+    QUEUED,
+    /** Appended to the journal, and synced if the fsync policy says so. */
+    WRITTEN,
+    /** Forced to disk, whatever the fsync policy. */
+    SYNCED;
+
+    public static Durability parse(String value, Durability defaultDurability) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultDurability;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown durability '" + value + "', using " + defaultDurability);
+            return defaultDurability;
+        }
+    }
+}
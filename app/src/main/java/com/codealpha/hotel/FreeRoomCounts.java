@@ -0,0 +1,104 @@
+package com.codealpha.hotel;
+
+import java.util.Arrays;
+
+/**
+ * Number of free rooms on each day of a horizon, per category and for the
+ * whole hotel, in segment trees supporting range add and range minimum in
+ * O(log days).
+ *
+ * The minimum over a stay is the number of rooms free on its busiest night:
+ * zero exactly when some night is sold out, otherwise an upper bound on the
+ * rooms that are free for the whole stay. Each tree has its own lock, so
+ * updates to different categories do not contend except on the hotel-wide
+ * tree.
+ */
+class FreeRoomCounts {
+    private final int days;
+    private final Tree[] trees = new Tree[RoomCategory.values().length + 1];
+
+    FreeRoomCounts(int days) {
+        this.days = days;
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = new Tree(days);
+        }
+    }
+
+    // Adds delta to the counts of the category and the hotel on days [from, to)
+    public void add(RoomCategory category, int from, int to, int delta) {
+        if (from < to) {
+            trees[category.ordinal()].add(from, to, delta);
+            trees[trees.length - 1].add(from, to, delta);
+        }
+    }
+
+    // Fewest free rooms of the category (null for any) on a day in [from, to)
+    public int min(RoomCategory category, int from, int to) {
+        return trees[category == null ? trees.length - 1 : category.ordinal()].min(from, to);
+    }
+
+    public void clear() {
+        for (Tree tree : trees) {
+            tree.clear();
+        }
+    }
+
+    /**
+     * Range-add, range-min tree without pushdown: each node holds the minimum
+     * of its range including the adds recorded at the node itself.
+     */
+    private static final class Tree {
+        private final int days;
+        private final int[] min;
+        private final int[] added;
+
+        Tree(int days) {
+            this.days = days;
+            this.min = new int[4 * days];
+            this.added = new int[4 * days];
+        }
+
+        synchronized void add(int from, int to, int delta) {
+            add(1, 0, days, from, to, delta);
+        }
+
+        synchronized int min(int from, int to) {
+            return min(1, 0, days, from, to);
+        }
+
+        synchronized void clear() {
+            Arrays.fill(min, 0);
+            Arrays.fill(added, 0);
+        }
+
+        private void add(int node, int low, int high, int from, int to, int delta) {
+            if (to <= low || high <= from) {
+                return;
+            }
+            if (from <= low && high <= to) {
+                min[node] += delta;
+                added[node] += delta;
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            add(2 * node, low, mid, from, to, delta);
+            add(2 * node + 1, mid, high, from, to, delta);
+            min[node] = Math.min(min[2 * node], min[2 * node + 1]) + added[node];
+        }
+
+        private int min(int node, int low, int high, int from, int to) {
+            if (from <= low && high <= to) {
+                return min[node];
+            }
+            int mid = (low + high) >>> 1;
+            int result = Integer.MAX_VALUE;
+            if (from < mid) {
+                result = min(2 * node, low, mid, from, to);
+            }
+            if (mid < to) {
+                result = Math.min(result, min(2 * node + 1, mid, high, from, to));
+            }
+            return result + added[node];
+        }
+    }
+}
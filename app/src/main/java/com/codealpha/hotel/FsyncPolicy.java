@@ -0,0 +1,25 @@
+package com.codealpha.hotel;
+
+/**
+ * When journal appends are forced to disk.
+ */
+enum FsyncPolicy {
+    /** fsync after every record. */
+    PER_WRITE,
+    /** fsync once enough records or time have accumulated since the last sync. */
+    BATCHED,
+    /** Leave flushing to the operating system. */
+    OS_BUFFERED;
+
+    public static FsyncPolicy parse(String value, FsyncPolicy defaultPolicy) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultPolicy;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown fsync policy '" + value + "', using " + defaultPolicy);
+            return defaultPolicy;
+        }
+    }
+}
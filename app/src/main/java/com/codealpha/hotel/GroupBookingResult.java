@@ -0,0 +1,57 @@
+package com.codealpha.hotel;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a group booking: either every room booked, or the first
+ * request that could not be met and nothing booked. Also reports how long
+ * the group took from validation to its durable journal write.
+ */
+class GroupBookingResult {
+    private final List<Booking> bookings;
+    private final int rejectedIndex;
+    private final String reason;
+    private final long elapsedNanos;
+
+    private GroupBookingResult(List<Booking> bookings, int rejectedIndex, String reason, long elapsedNanos) {
+        this.bookings = bookings;
+        this.rejectedIndex = rejectedIndex;
+        this.reason = reason;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    static GroupBookingResult booked(List<Booking> bookings, long elapsedNanos) {
+        return new GroupBookingResult(Collections.unmodifiableList(bookings), -1, null, elapsedNanos);
+    }
+
+    static GroupBookingResult rejected(int index, String reason, long elapsedNanos) {
+        return new GroupBookingResult(Collections.emptyList(), index, reason, elapsedNanos);
+    }
+
+    public boolean isBooked() {
+        return rejectedIndex < 0;
+    }
+
+    // In request order; empty when the group was rejected
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    // Index of the first request that could not be met, or -1
+    public int getRejectedIndex() {
+        return rejectedIndex;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRoomsPerSecond() {
+        return elapsedNanos == 0 ? 0 : bookings.size() * 1e9 / elapsedNanos;
+    }
+}
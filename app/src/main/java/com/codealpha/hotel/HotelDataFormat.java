@@ -0,0 +1,268 @@
+package com.codealpha.hotel;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-layout binary encoding of rooms and bookings, used as the snapshot
+ * payload. Dates are stored as epoch days, money as cents, rooms by their
+ * stable ID (their index in the room section) and strings as indexes into a
+ * shared string table,
+ * so a repeated guest name or room costs four bytes per booking.
+ *
+ * <pre>
+ * [int stringCount][int roomCount][int bookingCount]
+ * stringCount x [int length][UTF-8 bytes]
+ * roomCount x (16 bytes)
+ *   [int number][byte category][byte available][short maxCapacity][long priceCents]
+ * bookingCount x (48 bytes)
+ *   [int id][int room][int guestName][int email][int phone][int checkInDay][int checkOutDay]
+ *   [short guests][byte status][byte reserved][long totalCents][long bookedAtMillis]
+ * </pre>
+ */
+final class HotelDataFormat {
+    static final int ROOM_RECORD_SIZE = 16;
+    static final int BOOKING_RECORD_SIZE = 48;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private HotelDataFormat() {
+    }
+
+    public static void write(List<Room> rooms, List<Booking> bookings, WritableByteChannel channel)
+            throws IOException {
+        // First pass: build the string table and room references
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).getId() != i) {
+                throw new IOException("Room " + rooms.get(i).getRoomNumber() + " is out of place");
+            }
+            intern(rooms.get(i).getRoomNumber(), stringIds, strings);
+        }
+        for (Booking booking : bookings) {
+            int roomId = booking.getRoomId();
+            if (roomId < 0 || roomId >= rooms.size() || rooms.get(roomId) != booking.getRoom()) {
+                throw new IOException("Booking " + booking.getBookingId() + " refers to unknown room "
+                        + booking.getRoom().getRoomNumber());
+            }
+            intern(booking.getBookingId(), stringIds, strings);
+            intern(booking.getGuestName(), stringIds, strings);
+            intern(booking.getEmail(), stringIds, strings);
+            intern(booking.getPhone(), stringIds, strings);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.putInt(strings.size()).putInt(rooms.size()).putInt(bookings.size());
+        for (String value : strings) {
+            putString(buffer, value, channel);
+        }
+        for (Room room : rooms) {
+            putRoom(buffer, room, stringIds.get(room.getRoomNumber()), channel);
+        }
+
+        for (Booking booking : bookings) {
+            ensureRoom(buffer, BOOKING_RECORD_SIZE, channel);
+            buffer.putInt(stringIds.get(booking.getBookingId()))
+                    .putInt(booking.getRoomId())
+                    .putInt(ref(booking.getGuestName(), stringIds))
+                    .putInt(ref(booking.getEmail(), stringIds))
+                    .putInt(ref(booking.getPhone(), stringIds))
+                    .putInt(booking.getCheckInDay())
+                    .putInt(booking.getCheckOutDay())
+                    .putShort((short) booking.getNumberOfGuests())
+                    .put((byte) booking.getStatus().ordinal())
+                    .put((byte) 0)
+                    .putLong(toCents(booking.getTotalAmount()))
+                    .putLong(booking.getBookedAtMillis());
+        }
+        drain(buffer, channel);
+    }
+
+    /**
+     * Writes the rooms and the bookings of a store without building a string
+     * index: the table is the room numbers, then the store's guest string
+     * pool, then the booking IDs, so every reference is a fixed offset.
+     */
+    public static void write(List<Room> rooms, BookingStore store, WritableByteChannel channel)
+            throws IOException {
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).getId() != i) {
+                throw new IOException("Room " + rooms.get(i).getRoomNumber() + " is out of place");
+            }
+        }
+        List<String> pool = store.getPool();
+        int poolBase = rooms.size();
+        int idBase = poolBase + pool.size();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.putInt(idBase + store.size()).putInt(rooms.size()).putInt(store.size());
+        for (Room room : rooms) {
+            putString(buffer, room.getRoomNumber(), channel);
+        }
+        for (String value : pool) {
+            putString(buffer, value, channel);
+        }
+        store.forEach((row, id, roomId, guestName, email, phone, checkInDay, checkOutDay, guests, status,
+                totalCents, bookedAtMillis) -> putString(buffer, id, channel));
+        for (int i = 0; i < rooms.size(); i++) {
+            putRoom(buffer, rooms.get(i), i, channel);
+        }
+
+        store.forEach((row, id, roomId, guestName, email, phone, checkInDay, checkOutDay, guests, status,
+                totalCents, bookedAtMillis) -> {
+            if (roomId < 0 || roomId >= rooms.size()) {
+                throw new IOException("Booking " + id + " refers to unknown room " + roomId);
+            }
+            ensureRoom(buffer, BOOKING_RECORD_SIZE, channel);
+            buffer.putInt(idBase + row)
+                    .putInt(roomId)
+                    .putInt(guestName < 0 ? -1 : poolBase + guestName)
+                    .putInt(email < 0 ? -1 : poolBase + email)
+                    .putInt(phone < 0 ? -1 : poolBase + phone)
+                    .putInt(checkInDay)
+                    .putInt(checkOutDay)
+                    .putShort((short) guests)
+                    .put((byte) status.ordinal())
+                    .put((byte) 0)
+                    .putLong(totalCents)
+                    .putLong(bookedAtMillis);
+        });
+        drain(buffer, channel);
+    }
+
+    /**
+     * Adds the encoded bookings to the store and returns the rooms, whose IDs
+     * are their positions in the list. Bookings whose ID is already in the
+     * store are skipped.
+     */
+    public static List<Room> read(ByteBuffer buffer, BookingStore store) throws IOException {
+        try {
+            int stringCount = buffer.getInt();
+            int roomCount = buffer.getInt();
+            int bookingCount = buffer.getInt();
+            if (stringCount < 0 || roomCount < 0 || bookingCount < 0) {
+                throw new IOException("Negative record count");
+            }
+
+            String[] strings = new String[stringCount];
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < stringCount; i++) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IOException("Bad string length " + length);
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[length];
+                }
+                buffer.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            RoomCategory[] categories = RoomCategory.values();
+            List<Room> rooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) {
+                String number = strings[buffer.getInt()];
+                RoomCategory category = categories[buffer.get()];
+                boolean available = buffer.get() != 0;
+                int capacity = buffer.getShort();
+                Room room = new Room(number, category, fromCents(buffer.getLong()), capacity);
+                room.setAvailable(available);
+                room.setId(i);
+                rooms.add(room);
+            }
+
+            BookingStatus[] statuses = BookingStatus.values();
+            for (int i = 0; i < bookingCount; i++) {
+                String bookingId = strings[buffer.getInt()];
+                int roomId = buffer.getInt();
+                if (roomId < 0 || roomId >= roomCount) {
+                    throw new IOException("Booking " + bookingId + " refers to unknown room " + roomId);
+                }
+                String guestName = string(strings, buffer.getInt());
+                String email = string(strings, buffer.getInt());
+                String phone = string(strings, buffer.getInt());
+                int checkInDay = buffer.getInt();
+                int checkOutDay = buffer.getInt();
+                int guests = buffer.getShort();
+                BookingStatus status = statuses[buffer.get()];
+                buffer.get();
+                long totalCents = buffer.getLong();
+                long bookedAt = buffer.getLong();
+                store.add(bookingId, roomId, guestName, email, phone, checkInDay, checkOutDay, guests, status,
+                        totalCents, bookedAt);
+            }
+            return rooms;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or inconsistent hotel data", e);
+        }
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    private static void intern(String value, Map<String, Integer> ids, List<String> strings) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static int ref(String value, Map<String, Integer> ids) {
+        return value == null ? -1 : ids.get(value);
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+
+    private static void putString(ByteBuffer buffer, String value, WritableByteChannel channel)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(buffer, 4, channel);
+        buffer.putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRoom(buffer, 1, channel);
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    private static void putRoom(ByteBuffer buffer, Room room, int numberRef, WritableByteChannel channel)
+            throws IOException {
+        ensureRoom(buffer, ROOM_RECORD_SIZE, channel);
+        buffer.putInt(numberRef)
+                .put((byte) room.getCategory().ordinal())
+                .put((byte) (room.isAvailable() ? 1 : 0))
+                .putShort((short) room.getMaxCapacity())
+                .putLong(toCents(room.getPricePerNight()));
+    }
+
+    private static void ensureRoom(ByteBuffer buffer, int bytes, WritableByteChannel channel) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(buffer, channel);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,180 @@
+package com.codealpha.hotel;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * JDK Flight Recorder events of the booking flow, from the GUI action down
+ * to the disk. Callers create an event, call begin(), and fill in the fields
+ * only when shouldCommit() says the event is recorded. While no recording
+ * enables them the JIT removes the event entirely. Stack traces are off, so
+ * an enabled event costs a timestamp pair and a buffer write.
+ *
+ * Dates are ISO yyyy-MM-dd strings; a stay is [checkIn, checkOut).
+ */
+final class HotelEvents {
+    private HotelEvents() {
+    }
+
+    static String day(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    static String day(Date date) {
+        return date == null ? null : day(Days.toEpochDay(date));
+    }
+
+    @Name("com.codealpha.hotel.Search")
+    @Label("Room Search")
+    @Category("Hotel")
+    @Description("A search for rooms free for a stay")
+    @StackTrace(false)
+    static class Search extends Event {
+        @Label("Category")
+        String category;
+
+        @Label("Guests")
+        int guests;
+
+        @Label("Check-in")
+        String checkIn;
+
+        @Label("Check-out")
+        String checkOut;
+
+        @Label("Result Size")
+        int resultSize;
+
+        @Label("Cached")
+        @Description("Answered from the search cache")
+        boolean cached;
+    }
+
+    @Name("com.codealpha.hotel.AvailabilityCheck")
+    @Label("Availability Check")
+    @Category("Hotel")
+    @Description("Taking a room's lock and checking it is free for a stay")
+    @StackTrace(false)
+    static class AvailabilityCheck extends Event {
+        @Label("Room Number")
+        String roomNumber;
+
+        @Label("Check-in")
+        String checkIn;
+
+        @Label("Check-out")
+        String checkOut;
+
+        @Label("Free")
+        boolean free;
+    }
+
+    @Name("com.codealpha.hotel.BookingCreation")
+    @Label("Booking Creation")
+    @Category("Hotel")
+    @Description("Placing a hold on a room, including waiting for its journal record")
+    @StackTrace(false)
+    static class BookingCreation extends Event {
+        @Label("Room Number")
+        String roomNumber;
+
+        @Label("Check-in")
+        String checkIn;
+
+        @Label("Check-out")
+        String checkOut;
+
+        @Label("Booking ID")
+        String bookingId;
+
+        @Label("Booked")
+        boolean booked;
+    }
+
+    @Name("com.codealpha.hotel.PaymentConfirmation")
+    @Label("Payment Confirmation")
+    @Category("Hotel")
+    @Description("Turning a paid hold into a confirmed booking")
+    @StackTrace(false)
+    static class PaymentConfirmation extends Event {
+        @Label("Booking ID")
+        String bookingId;
+
+        @Label("Room Number")
+        String roomNumber;
+
+        @Label("Confirmed")
+        boolean confirmed;
+    }
+
+    @Name("com.codealpha.hotel.Cancellation")
+    @Label("Cancellation")
+    @Category("Hotel")
+    @StackTrace(false)
+    static class Cancellation extends Event {
+        @Label("Booking ID")
+        String bookingId;
+
+        @Label("Room Number")
+        String roomNumber;
+
+        @Label("Cancelled")
+        boolean cancelled;
+    }
+
+    @Name("com.codealpha.hotel.Persistence")
+    @Label("Persistence")
+    @Category("Hotel")
+    @Description("A snapshot or a batch of journal records written to disk")
+    @StackTrace(false)
+    static class Persistence extends Event {
+        @Label("Kind")
+        String kind;
+
+        @Label("Records")
+        int records;
+
+        @Label("Bytes Serialized")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("com.codealpha.hotel.UiAction")
+    @Label("UI Action")
+    @Category({"Hotel", "GUI"})
+    @Description("Work done by a GUI action handler, excluding time spent in dialogs")
+    @StackTrace(false)
+    static class UiAction extends Event {
+        @Label("Action")
+        String action;
+
+        @Label("Category")
+        String category;
+
+        @Label("Guests")
+        int guests;
+
+        @Label("Room Number")
+        String roomNumber;
+
+        @Label("Check-in")
+        String checkIn;
+
+        @Label("Check-out")
+        String checkOut;
+
+        @Label("Result Size")
+        int resultSize;
+
+        @Label("Booking ID")
+        String bookingId;
+    }
+}
@@ -0,0 +1,266 @@
+package com.codealpha.hotel;
+
+import com.sun.net.httpserver.HttpServer;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency, call, error and byte counts of the hotel's hot paths. Recording
+ * only touches preallocated counters, so it stays on in production. The
+ * figures are published as one JMX MBean per operation and as Prometheus
+ * text through {@link #toPrometheus}.
+ */
+class HotelMetrics {
+    enum Operation {
+        SEARCH_ROOMS("searchRooms"),
+        CREATE_BOOKING("createBooking"),
+        CANCEL_BOOKING("cancelBooking"),
+        LOAD_DATA("loadData"),
+        SAVE_SNAPSHOT("saveSnapshot"),
+        JOURNAL_WRITE("journalWrite");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final AtomicLongArray errors = new AtomicLongArray(OPERATIONS.length);
+    private final AtomicLongArray bytesWritten = new AtomicLongArray(OPERATIONS.length);
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    HotelMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    // Records one call that started at startNanos, as read from System.nanoTime()
+    public void record(Operation operation, long startNanos, boolean failed) {
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+        if (failed) {
+            errors.incrementAndGet(operation.ordinal());
+        }
+    }
+
+    public void recordBytes(Operation operation, long bytes) {
+        bytesWritten.addAndGet(operation.ordinal(), bytes);
+    }
+
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public long getErrors(Operation operation) {
+        return errors.get(operation.ordinal());
+    }
+
+    public long getBytesWritten(Operation operation) {
+        return bytesWritten.get(operation.ordinal());
+    }
+
+    // Latencies in seconds, as Prometheus summaries
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP hotel_operation_seconds Latency of hotel operations\n");
+        out.append("# TYPE hotel_operation_seconds summary\n");
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram latency = getLatency(operation);
+            for (double quantile : QUANTILES) {
+                out.append("hotel_operation_seconds{operation=\"").append(operation.label)
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(latency.getValueAtPercentile(quantile))).append('\n');
+            }
+            out.append("hotel_operation_seconds_sum{operation=\"").append(operation.label).append("\"} ")
+                    .append(seconds(latency.getSumNanos())).append('\n');
+            out.append("hotel_operation_seconds_count{operation=\"").append(operation.label).append("\"} ")
+                    .append(latency.getCount()).append('\n');
+        }
+        out.append("# HELP hotel_operation_errors_total Hotel operations that failed\n");
+        out.append("# TYPE hotel_operation_errors_total counter\n");
+        for (Operation operation : OPERATIONS) {
+            out.append("hotel_operation_errors_total{operation=\"").append(operation.label).append("\"} ")
+                    .append(getErrors(operation)).append('\n');
+        }
+        out.append("# HELP hotel_bytes_written_total Bytes written to disk by snapshots and the journal\n");
+        out.append("# TYPE hotel_bytes_written_total counter\n");
+        for (Operation operation : new Operation[] {Operation.SAVE_SNAPSHOT, Operation.JOURNAL_WRITE}) {
+            out.append("hotel_bytes_written_total{operation=\"").append(operation.label).append("\"} ")
+                    .append(getBytesWritten(operation)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    /**
+     * Registers an MBean per operation under
+     * com.codealpha.hotel:type=HotelManager,dir=...,operation=... . When
+     * another manager in this JVM already publishes the same directory, it
+     * keeps the names and this one stays unpublished.
+     */
+    public synchronized void registerMBeans(String dir) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Operation operation : OPERATIONS) {
+                ObjectName name = new ObjectName("com.codealpha.hotel:type=HotelManager,dir="
+                        + ObjectName.quote(dir) + ",operation=" + operation.label);
+                server.registerMBean(new OperationMBean(operation), name);
+                registered.add(name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            unregisterMBeans();
+        } catch (JMException e) {
+            System.err.println("Error registering metrics MBeans: " + e.getMessage());
+            unregisterMBeans();
+        }
+    }
+
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                System.err.println("Error unregistering metrics MBean: " + e.getMessage());
+            }
+        }
+        registered.clear();
+    }
+
+    // Serves toPrometheus() at /metrics on the loopback interface only
+    public HttpServer serve(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = toPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Read-only view of one operation. A dynamic MBean, so the metrics need
+     * no public management interface.
+     */
+    private final class OperationMBean implements DynamicMBean {
+        private final Operation operation;
+
+        OperationMBean(Operation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            LatencyHistogram latency = getLatency(operation);
+            switch (attribute) {
+                case "Count":
+                    return latency.getCount();
+                case "Errors":
+                    return getErrors(operation);
+                case "BytesWritten":
+                    return getBytesWritten(operation);
+                case "MeanMicros":
+                    return latency.getMeanNanos() / 1000;
+                case "P50Micros":
+                    return latency.getValueAtPercentile(0.5) / 1000.0;
+                case "P90Micros":
+                    return latency.getValueAtPercentile(0.9) / 1000.0;
+                case "P99Micros":
+                    return latency.getValueAtPercentile(0.99) / 1000.0;
+                case "P999Micros":
+                    return latency.getValueAtPercentile(0.999) / 1000.0;
+                case "MaxMicros":
+                    return latency.getMaxNanos() / 1000.0;
+                default:
+                    throw new AttributeNotFoundException(attribute);
+            }
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException e) {
+                    // Unknown attributes are left out, as the MBean contract allows
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException(actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return new MBeanInfo(HotelMetrics.class.getName(), "Metrics of " + operation.label,
+                    new MBeanAttributeInfo[] {
+                        counter("Count", "Calls completed"),
+                        counter("Errors", "Calls that failed"),
+                        counter("BytesWritten", "Bytes written to disk"),
+                        micros("MeanMicros", "Mean latency"),
+                        micros("P50Micros", "Median latency"),
+                        micros("P90Micros", "90th percentile latency"),
+                        micros("P99Micros", "99th percentile latency"),
+                        micros("P999Micros", "99.9th percentile latency"),
+                        micros("MaxMicros", "Highest latency"),
+                    }, null, null, null);
+        }
+
+        private MBeanAttributeInfo counter(String name, String description) {
+            return new MBeanAttributeInfo(name, "long", description, true, false, false);
+        }
+
+        private MBeanAttributeInfo micros(String name, String description) {
+            return new MBeanAttributeInfo(name, "double", description + " in microseconds", true, false, false);
+        }
+    }
+}
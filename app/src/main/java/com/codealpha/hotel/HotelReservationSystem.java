@@ -0,0 +1,2667 @@
+package com.codealpha.hotel;
+
+import javax.swing.*;
+import javax.swing.border.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.*;
+import java.net.InetAddress;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * TASK 4: Hotel Reservation System
+ * A comprehensive system to search, book, and manage hotel rooms with
+ * room categorization, payment simulation, and file-based storage.
+ */
+public class HotelReservationSystem extends JFrame {
+    private HotelManager hotelManager;
+    private com.sun.net.httpserver.HttpServer metricsServer;
+    private JTabbedPane tabbedPane;
+
+    // Search Panel Components
+    private JComboBox<RoomCategory> categoryComboBox;
+    private JSpinner checkInDateSpinner;
+    private JSpinner checkOutDateSpinner;
+    private JSpinner guestsSpinner;
+    private JTable roomsTable;
+    private RoomTableModel roomsTableModel;
+    private JLabel searchStatusLabel;
+    private JLabel availabilityBadges;
+
+    // Searches run one at a time off the EDT; a newer search cancels the older one
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "room-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final javax.swing.Timer searchDebounce = new javax.swing.Timer(300, e -> startSearch(false));
+    private SearchWorker currentSearch;
+
+    // Booking Panel Components
+    private JTable bookingsTable;
+    private BookingTableModel bookingsTableModel;
+    private long shownLifecycleChanges; // sweeper changes already shown in the bookings tab
+
+    // Management Panel Components
+    private final JLabel totalRoomsValue = new JLabel();
+    private final JLabel availableRoomsValue = new JLabel();
+    private final JLabel bookedRoomsValue = new JLabel();
+    private final JLabel revenueValue = new JLabel();
+    private final JLabel[] freeTonightValues = new JLabel[RoomCategory.values().length];
+    private final JLabel soldOutNightsValue = new JLabel();
+
+    // Modern Color Palette
+    private static final Color PRIMARY_COLOR = new Color(52, 73, 94); // Dark slate
+    private static final Color ACCENT_COLOR = new Color(41, 128, 185); // Bright blue
+    private static final Color SUCCESS_COLOR = new Color(46, 204, 113); // Emerald green
+    private static final Color DANGER_COLOR = new Color(231, 76, 60); // Red
+    private static final Color WARNING_COLOR = new Color(241, 196, 15); // Yellow
+    private static final Color INFO_COLOR = new Color(155, 89, 182); // Purple
+    private static final Color LIGHT_BG = new Color(236, 240, 241); // Light gray
+    private static final Color CARD_BG = Color.WHITE;
+    private static final Color TEXT_PRIMARY = new Color(44, 62, 80);
+    private static final Color TEXT_SECONDARY = new Color(127, 140, 141);
+
+    // Shared by every table cell and dialog; unlike SimpleDateFormat it is thread-safe
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+    public HotelReservationSystem() {
+        // Never make the event dispatch thread wait for the disk
+        hotelManager = new HotelManager(Durability.QUEUED);
+        startMetricsEndpoint();
+        initializeGUI();
+        loadRoomsToTable();
+        loadBookingsToTable();
+    }
+
+    // Serves the metrics on localhost when -Dhotel.metricsPort is set
+    private void startMetricsEndpoint() {
+        Integer port = Integer.getInteger("hotel.metricsPort");
+        if (port != null) {
+            try {
+                metricsServer = hotelManager.getMetrics().serve(port);
+            } catch (IOException e) {
+                System.err.println("Error starting metrics endpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    private void initializeGUI() {
+        setTitle("🏨 Luxury Hotel Reservation System");
+        setSize(1400, 800);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        getContentPane().setBackground(LIGHT_BG);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (metricsServer != null) {
+                    metricsServer.stop(0);
+                }
+                hotelManager.close();
+            }
+        });
+
+        tabbedPane = new JTabbedPane();
+        tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        tabbedPane.setBackground(CARD_BG);
+        tabbedPane.setForeground(TEXT_PRIMARY);
+        tabbedPane.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        // Add tabs
+        tabbedPane.addTab("🔍 Search & Book", createSearchPanel());
+        tabbedPane.addTab("📋 My Bookings", createBookingsPanel());
+        tabbedPane.addTab("🏨 Room Management", createManagementPanel());
+
+        add(tabbedPane);
+    }
+
+    private JPanel createSearchPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(15, 15));
+        mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        mainPanel.setBackground(LIGHT_BG);
+
+        // Search criteria panel
+        JPanel searchPanel = new JPanel(new GridBagLayout());
+        searchPanel.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+                "Search Rooms",
+                TitledBorder.LEFT,
+                TitledBorder.TOP,
+                new Font("Arial", Font.BOLD, 16),
+                PRIMARY_COLOR));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Room Category
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        searchPanel.add(new JLabel("Room Category:"), gbc);
+        gbc.gridx = 1;
+        categoryComboBox = new JComboBox<>(RoomCategory.values());
+        categoryComboBox.insertItemAt(null, 0);
+        categoryComboBox.setSelectedIndex(0);
+        categoryComboBox.setPreferredSize(new Dimension(250, 35));
+        categoryComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        categoryComboBox.setBackground(Color.WHITE);
+        categoryComboBox.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(189, 195, 199), 1),
+                new EmptyBorder(5, 10, 5, 10)));
+        searchPanel.add(categoryComboBox, gbc);
+
+        // Check-in Date
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        JLabel checkInLabel = new JLabel("📅 Check-in Date:");
+        checkInLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        checkInLabel.setForeground(TEXT_PRIMARY);
+        searchPanel.add(checkInLabel, gbc);
+        gbc.gridx = 1;
+        Date tomorrow = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        SpinnerDateModel checkInModel = new SpinnerDateModel(tomorrow, new Date(), null, Calendar.DAY_OF_MONTH);
+        checkInDateSpinner = new JSpinner(checkInModel);
+        JSpinner.DateEditor checkInEditor = new JSpinner.DateEditor(checkInDateSpinner, "MMM dd, yyyy");
+        checkInEditor.getTextField().setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        checkInDateSpinner.setEditor(checkInEditor);
+        checkInDateSpinner.setPreferredSize(new Dimension(250, 35));
+        checkInDateSpinner.setBorder(BorderFactory.createLineBorder(new Color(189, 195, 199), 1));
+        searchPanel.add(checkInDateSpinner, gbc);
+
+        // Check-out Date
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        JLabel checkOutLabel = new JLabel("📅 Check-out Date:");
+        checkOutLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        checkOutLabel.setForeground(TEXT_PRIMARY);
+        searchPanel.add(checkOutLabel, gbc);
+        gbc.gridx = 1;
+        Date dayAfterTomorrow = new Date(System.currentTimeMillis() + 2 * 24 * 60 * 60 * 1000);
+        SpinnerDateModel checkOutModel = new SpinnerDateModel(dayAfterTomorrow, new Date(), null,
+                Calendar.DAY_OF_MONTH);
+        checkOutDateSpinner = new JSpinner(checkOutModel);
+        JSpinner.DateEditor checkOutEditor = new JSpinner.DateEditor(checkOutDateSpinner, "MMM dd, yyyy");
+        checkOutDateSpinner.setEditor(checkOutEditor);
+        checkOutDateSpinner.setPreferredSize(new Dimension(200, 30));
+        searchPanel.add(checkOutDateSpinner, gbc);
+
+        // Number of Guests
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        JLabel guestsLabel = new JLabel("👥 Number of Guests:");
+        guestsLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        guestsLabel.setForeground(TEXT_PRIMARY);
+        searchPanel.add(guestsLabel, gbc);
+        gbc.gridx = 1;
+        guestsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10, 1));
+        guestsSpinner.setPreferredSize(new Dimension(250, 35));
+        guestsSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        ((JSpinner.DefaultEditor) guestsSpinner.getEditor()).getTextField()
+                .setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        guestsSpinner.setBorder(BorderFactory.createLineBorder(new Color(189, 195, 199), 1));
+        searchPanel.add(guestsSpinner, gbc);
+
+        // Search Button
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.gridwidth = 2;
+        JButton searchButton = createStyledButton("Search Available Rooms", PRIMARY_COLOR);
+        searchButton.addActionListener(e -> searchRooms());
+        searchPanel.add(searchButton, gbc);
+
+        gbc.gridy = 5;
+        JButton nextAvailableButton = createStyledButton("📅 Find Next Available Dates", ACCENT_COLOR);
+        nextAvailableButton.addActionListener(e -> findNextAvailable());
+        searchPanel.add(nextAvailableButton, gbc);
+
+        // Changing any criterion searches again once the user pauses
+        searchDebounce.setRepeats(false);
+        categoryComboBox.addActionListener(e -> searchDebounce.restart());
+        checkInDateSpinner.addChangeListener(e -> searchDebounce.restart());
+        checkOutDateSpinner.addChangeListener(e -> searchDebounce.restart());
+        guestsSpinner.addChangeListener(e -> searchDebounce.restart());
+
+        mainPanel.add(searchPanel, BorderLayout.NORTH);
+
+        // Results table
+        roomsTableModel = new RoomTableModel(hotelManager);
+        roomsTable = new JTable(roomsTableModel);
+        roomsTable.setRowHeight(35);
+        roomsTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        roomsTable.setSelectionBackground(new Color(52, 152, 219, 50));
+        roomsTable.setSelectionForeground(TEXT_PRIMARY);
+        roomsTable.setGridColor(new Color(236, 240, 241));
+        roomsTable.setShowGrid(true);
+        roomsTable.setIntercellSpacing(new Dimension(1, 1));
+        roomsTable.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+        roomsTable.getTableHeader().setBackground(PRIMARY_COLOR);
+        roomsTable.getTableHeader().setForeground(Color.WHITE);
+        roomsTable.getTableHeader().setPreferredSize(new Dimension(0, 40));
+        roomsTable.getTableHeader().setBorder(BorderFactory.createEmptyBorder());
+
+        JScrollPane scrollPane = new JScrollPane(roomsTable);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Book button
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 15));
+        buttonPanel.setBackground(LIGHT_BG);
+        availabilityBadges = new JLabel(" ");
+        availabilityBadges.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        availabilityBadges.setForeground(TEXT_SECONDARY);
+        availabilityBadges.setToolTipText("Rooms free on the busiest night of the stay");
+        buttonPanel.add(availabilityBadges);
+        searchStatusLabel = new JLabel(" ");
+        searchStatusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        searchStatusLabel.setForeground(TEXT_SECONDARY);
+        buttonPanel.add(searchStatusLabel);
+        JButton bookButton = createStyledButton("✅ Book Selected Room", SUCCESS_COLOR);
+        bookButton.setPreferredSize(new Dimension(220, 45));
+        bookButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        bookButton.addActionListener(e -> bookSelectedRoom());
+        buttonPanel.add(bookButton);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private JPanel createBookingsPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(15, 15));
+        mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        mainPanel.setBackground(LIGHT_BG);
+
+        // Title
+        JLabel titleLabel = new JLabel("📋 My Reservations");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Bookings table
+        bookingsTableModel = new BookingTableModel(hotelManager);
+        bookingsTable = new JTable(bookingsTableModel);
+        bookingsTable.setRowHeight(35);
+        bookingsTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        bookingsTable.setSelectionBackground(new Color(46, 204, 113, 50));
+        bookingsTable.setSelectionForeground(TEXT_PRIMARY);
+        bookingsTable.setGridColor(new Color(236, 240, 241));
+        bookingsTable.setShowGrid(true);
+        bookingsTable.setIntercellSpacing(new Dimension(1, 1));
+        bookingsTable.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+        bookingsTable.getTableHeader().setBackground(PRIMARY_COLOR);
+        bookingsTable.getTableHeader().setForeground(Color.WHITE);
+        bookingsTable.getTableHeader().setPreferredSize(new Dimension(0, 40));
+        bookingsTable.getTableHeader().setBorder(BorderFactory.createEmptyBorder());
+
+        JScrollPane scrollPane = new JScrollPane(bookingsTable);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Action buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 15));
+        buttonPanel.setBackground(LIGHT_BG);
+
+        JButton viewDetailsButton = createStyledButton("👁️ View Details", ACCENT_COLOR);
+        viewDetailsButton.setPreferredSize(new Dimension(160, 40));
+        viewDetailsButton.addActionListener(e -> viewBookingDetails());
+        buttonPanel.add(viewDetailsButton);
+
+        JButton cancelButton = createStyledButton("❌ Cancel Booking", DANGER_COLOR);
+        cancelButton.setPreferredSize(new Dimension(180, 40));
+        cancelButton.addActionListener(e -> cancelBooking());
+        buttonPanel.add(cancelButton);
+
+        JButton refreshButton = createStyledButton("🔄 Refresh", INFO_COLOR);
+        refreshButton.setPreferredSize(new Dimension(140, 40));
+        refreshButton.addActionListener(e -> bookingsTableModel.refresh());
+        buttonPanel.add(refreshButton);
+
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private JPanel createManagementPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(15, 15));
+        mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        mainPanel.setBackground(LIGHT_BG);
+
+        JLabel titleLabel = new JLabel("🏨 Room Management Dashboard");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Statistics panel
+        JPanel statsPanel = new JPanel(new GridLayout(2, 4, 20, 20));
+        statsPanel.setBorder(new EmptyBorder(20, 0, 20, 0));
+        statsPanel.setBackground(LIGHT_BG);
+
+        statsPanel.add(createStatCard("🏢 Total Rooms", totalRoomsValue, ACCENT_COLOR));
+        statsPanel.add(createStatCard("✅ Available", availableRoomsValue, SUCCESS_COLOR));
+        statsPanel.add(createStatCard("📅 Booked", bookedRoomsValue, WARNING_COLOR));
+        statsPanel.add(createStatCard("💰 Revenue", revenueValue, INFO_COLOR));
+        for (RoomCategory category : RoomCategory.values()) {
+            JLabel value = new JLabel();
+            freeTonightValues[category.ordinal()] = value;
+            statsPanel.add(createStatCard("🛏️ " + category.getDisplayName() + " Tonight", value, ACCENT_COLOR));
+        }
+        statsPanel.add(createStatCard("🚫 Sold-Out Nights (30 days)", soldOutNightsValue, DANGER_COLOR));
+        refreshStats();
+
+        // The figures are maintained incrementally, so polling them is cheap
+        new javax.swing.Timer(500, e -> refreshStats()).start();
+
+        mainPanel.add(statsPanel, BorderLayout.CENTER);
+
+        // Action buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
+        buttonPanel.setBackground(LIGHT_BG);
+
+        JButton addRoomButton = createStyledButton("➕ Add New Room", SUCCESS_COLOR);
+        addRoomButton.setPreferredSize(new Dimension(180, 45));
+        addRoomButton.addActionListener(e -> addNewRoom());
+        buttonPanel.add(addRoomButton);
+
+        JButton resetDataButton = createStyledButton("🗑️ Reset All Data", DANGER_COLOR);
+        resetDataButton.setPreferredSize(new Dimension(180, 45));
+        resetDataButton.addActionListener(e -> resetAllData());
+        buttonPanel.add(resetDataButton);
+
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private void refreshStats() {
+        // Holds expired and stays completed by the sweeper repaint their rows
+        long lifecycleChanges = hotelManager.getLifecycleChanges();
+        if (lifecycleChanges != shownLifecycleChanges) {
+            shownLifecycleChanges = lifecycleChanges;
+            bookingsTableModel.refresh();
+        } else {
+            bookingsTableModel.reloadIfReordered();
+        }
+        setIfChanged(totalRoomsValue, String.valueOf(hotelManager.getTotalRooms()));
+        setIfChanged(availableRoomsValue, String.valueOf(hotelManager.getAvailableRooms()));
+        setIfChanged(bookedRoomsValue, String.valueOf(hotelManager.getBookedRooms()));
+        setIfChanged(revenueValue, "$" + hotelManager.getTotalRevenue());
+
+        int today = Days.today();
+        Date tonight = Days.toDate(today);
+        Date tomorrow = Days.toDate(today + 1);
+        for (RoomCategory category : RoomCategory.values()) {
+            int free = hotelManager.getFreeRoomCount(category, tonight, tomorrow);
+            setIfChanged(freeTonightValues[category.ordinal()], free == 0 ? "Sold out" : free + " free");
+        }
+        int soldOutNights = 0;
+        for (int day = today; day < today + 30; day++) {
+            if (hotelManager.isSoldOut(null, Days.toDate(day), Days.toDate(day + 1))) {
+                soldOutNights++;
+            }
+        }
+        setIfChanged(soldOutNightsValue, String.valueOf(soldOutNights));
+    }
+
+    // Sold-out badges: rooms of each category free on the busiest night of the stay
+    private void updateAvailabilityBadges(Date checkIn, Date checkOut) {
+        StringBuilder badges = new StringBuilder("<html>");
+        for (RoomCategory category : RoomCategory.values()) {
+            int free = hotelManager.getFreeRoomCount(category, checkIn, checkOut);
+            badges.append(category.getDisplayName()).append(": ")
+                    .append(free == 0 ? "<b><font color='#e74c3c'>SOLD OUT</font></b>" : free + " free")
+                    .append("&nbsp;&nbsp;&nbsp;");
+        }
+        availabilityBadges.setText(badges.append("</html>").toString());
+    }
+
+    private static void setIfChanged(JLabel label, String text) {
+        if (!text.equals(label.getText())) {
+            label.setText(text);
+        }
+    }
+
+    private JPanel createStatCard(String title, JLabel valueLabel, Color color) {
+        JPanel card = new JPanel(new BorderLayout());
+        card.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(color, 3, true),
+                new EmptyBorder(25, 25, 25, 25)));
+        card.setBackground(CARD_BG);
+
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        titleLabel.setForeground(TEXT_SECONDARY);
+
+        valueLabel.setFont(new Font("Segoe UI", Font.BOLD, 32));
+        valueLabel.setForeground(color);
+
+        card.add(titleLabel, BorderLayout.NORTH);
+        card.add(valueLabel, BorderLayout.CENTER);
+
+        return card;
+    }
+
+    private JButton createStyledButton(String text, Color bgColor) {
+        JButton button = new JButton(text);
+        button.setBackground(bgColor);
+        button.setForeground(Color.WHITE);
+        button.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setPreferredSize(new Dimension(180, 40));
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(bgColor.darker(), 0),
+                new EmptyBorder(8, 15, 8, 15)));
+
+        // Enhanced hover effect with animation-like feel
+        button.addMouseListener(new MouseAdapter() {
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(bgColor.brighter());
+                button.setBorder(BorderFactory.createCompoundBorder(
+                        BorderFactory.createLineBorder(bgColor.darker(), 2),
+                        new EmptyBorder(6, 13, 6, 13)));
+            }
+
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(bgColor);
+                button.setBorder(BorderFactory.createCompoundBorder(
+                        BorderFactory.createLineBorder(bgColor.darker(), 0),
+                        new EmptyBorder(8, 15, 8, 15)));
+            }
+        });
+
+        return button;
+    }
+
+    static String formatDate(Date date) {
+        return DATE_FORMAT.format(date.toInstant().atZone(ZoneId.systemDefault()));
+    }
+
+    private void loadRoomsToTable() {
+        roomsTableModel.showAllRooms();
+    }
+
+    private void searchRooms() {
+        searchDebounce.stop();
+        startSearch(true);
+    }
+
+    // Explicit searches report problems in dialogs; searches triggered by
+    // editing the criteria only use the status line
+    private void startSearch(boolean explicit) {
+        Date checkIn = (Date) checkInDateSpinner.getValue();
+        Date checkOut = (Date) checkOutDateSpinner.getValue();
+
+        String problem = null;
+        if (checkIn == null || checkOut == null) {
+            problem = "Please select check-in and check-out dates.";
+        } else if (checkOut.before(checkIn) || checkOut.equals(checkIn)) {
+            problem = "Check-out date must be after check-in date.";
+        }
+        if (problem != null) {
+            availabilityBadges.setText(" ");
+            searchStatusLabel.setText(problem);
+            if (explicit) {
+                JOptionPane.showMessageDialog(this, problem, "Error", JOptionPane.ERROR_MESSAGE);
+            }
+            return;
+        }
+
+        RoomCategory category = (RoomCategory) categoryComboBox.getSelectedItem();
+        int guests = (int) guestsSpinner.getValue();
+
+        if (currentSearch != null) {
+            currentSearch.cancel(false);
+        }
+        roomsTableModel.startSearchResults();
+        updateAvailabilityBadges(checkIn, checkOut);
+        searchStatusLabel.setText("Searching...");
+        currentSearch = new SearchWorker(category, guests, checkIn, checkOut, explicit);
+        searchExecutor.execute(currentSearch);
+    }
+
+    /**
+     * Runs one room search in the background and streams its results into
+     * the rooms table. SwingWorker coalesces published rooms into batches, so
+     * the EDT only appends rows a few dozen times a second.
+     */
+    private class SearchWorker extends SwingWorker<Integer, Room> {
+        private final RoomCategory category;
+        private final int guests;
+        private final Date checkIn;
+        private final Date checkOut;
+        private final boolean explicit;
+        private final HotelEvents.UiAction event = new HotelEvents.UiAction();
+
+        SearchWorker(RoomCategory category, int guests, Date checkIn, Date checkOut, boolean explicit) {
+            this.category = category;
+            this.guests = guests;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.explicit = explicit;
+            event.begin();
+        }
+
+        @Override
+        protected Integer doInBackground() {
+            int[] found = new int[1];
+            hotelManager.searchRooms(category, guests, checkIn, checkOut, room -> {
+                if (isCancelled()) {
+                    return false;
+                }
+                publish(room);
+                found[0]++;
+                return true;
+            });
+            return found[0];
+        }
+
+        @Override
+        protected void process(List<Room> batch) {
+            if (currentSearch == this) {
+                roomsTableModel.addSearchResults(batch);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (currentSearch != this || isCancelled()) {
+                return;
+            }
+            try {
+                int found = get();
+                searchStatusLabel.setText(found + (found == 1 ? " room" : " rooms") + " available");
+                if (event.shouldCommit()) {
+                    event.action = "searchRooms";
+                    event.category = category == null ? null : category.name();
+                    event.guests = guests;
+                    event.checkIn = HotelEvents.day(checkIn);
+                    event.checkOut = HotelEvents.day(checkOut);
+                    event.resultSize = found;
+                    event.commit();
+                }
+                if (found == 0 && explicit) {
+                    int choice = JOptionPane.showConfirmDialog(HotelReservationSystem.this,
+                            "No rooms available for the selected criteria.\nFind the next available dates?",
+                            "No Results", JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE);
+                    if (choice == JOptionPane.YES_OPTION) {
+                        findNextAvailable();
+                    }
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                System.err.println("Error searching rooms: " + e.getMessage());
+                searchStatusLabel.setText("Search failed.");
+            }
+        }
+    }
+
+    // Offers the earliest stays of the selected length from the check-in date
+    // on and moves the search to the one picked
+    private void findNextAvailable() {
+        Date checkIn = (Date) checkInDateSpinner.getValue();
+        Date checkOut = (Date) checkOutDateSpinner.getValue();
+        int nights = Days.toEpochDay(checkOut) - Days.toEpochDay(checkIn);
+        if (nights <= 0) {
+            JOptionPane.showMessageDialog(this, "Check-out date must be after check-in date.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        RoomCategory category = (RoomCategory) categoryComboBox.getSelectedItem();
+        int guests = (int) guestsSpinner.getValue();
+
+        List<StayWindow> windows = hotelManager.findAvailableWindows(category, guests, checkIn, nights, 5);
+        if (windows.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No room matches the selected category and guests.",
+                    "No Results", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String[] options = new String[windows.size()];
+        for (int i = 0; i < options.length; i++) {
+            StayWindow window = windows.get(i);
+            options[i] = formatDate(window.getCheckInDate()) + " - " + formatDate(window.getCheckOutDate())
+                    + "   Room " + window.getRoom().getRoomNumber() + " (" + window.getRoom().getCategory() + ")";
+        }
+        Object choice = JOptionPane.showInputDialog(this, "Earliest free " + nights
+                + (nights == 1 ? " night:" : " nights:"), "Next Available Dates", JOptionPane.QUESTION_MESSAGE,
+                null, options, options[0]);
+        if (choice == null) {
+            return;
+        }
+        StayWindow picked = windows.get(Arrays.asList(options).indexOf(choice));
+        checkInDateSpinner.setValue(picked.getCheckInDate());
+        checkOutDateSpinner.setValue(picked.getCheckOutDate());
+        searchRooms();
+    }
+
+    private void bookSelectedRoom() {
+        int selectedRow = roomsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a room to book.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Date checkIn = (Date) checkInDateSpinner.getValue();
+        Date checkOut = (Date) checkOutDateSpinner.getValue();
+
+        if (checkIn == null || checkOut == null) {
+            JOptionPane.showMessageDialog(this, "Please select check-in and check-out dates.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        String roomNumber = roomsTableModel.getRoom(roomsTable.convertRowIndexToModel(selectedRow)).getRoomNumber();
+        int guests = (int) guestsSpinner.getValue();
+
+        // Get guest information
+        JTextField nameField = new JTextField();
+        JTextField emailField = new JTextField();
+        JTextField phoneField = new JTextField();
+
+        Object[] message = {
+                "Guest Name:", nameField,
+                "Email:", emailField,
+                "Phone:", phoneField
+        };
+
+        int option = JOptionPane.showConfirmDialog(this, message, "Guest Information", JOptionPane.OK_CANCEL_OPTION);
+        if (option != JOptionPane.OK_OPTION || nameField.getText().trim().isEmpty()) {
+            return;
+        }
+
+        String guestName = nameField.getText().trim();
+        String email = emailField.getText().trim();
+        String phone = phoneField.getText().trim();
+
+        // Create booking
+        HotelEvents.UiAction event = new HotelEvents.UiAction();
+        event.begin();
+        Booking booking;
+        try {
+            booking = hotelManager.createBooking(roomNumber, guestName, email, phone, checkIn, checkOut, guests);
+        } catch (UncheckedIOException e) {
+            bookingsTableModel.refresh();
+            if (event.shouldCommit()) {
+                event.roomNumber = roomNumber;
+            }
+            commitUiAction(event, "bookSelectedRoom", null);
+            showJournalError(this, e);
+            return;
+        }
+        if (booking != null) {
+            bookingsTableModel.bookingChanged(booking);
+        }
+        if (event.shouldCommit()) {
+            event.roomNumber = roomNumber;
+        }
+        commitUiAction(event, "bookSelectedRoom", booking);
+
+        if (booking != null) {
+            // Show payment dialog
+            showPaymentDialog(booking);
+        } else {
+            JOptionPane.showMessageDialog(this, "Failed to create booking. Room may no longer be available.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void showPaymentDialog(Booking booking) {
+        JDialog paymentDialog = new JDialog(this, "Payment Simulation", true);
+        paymentDialog.setSize(500, 600);
+        paymentDialog.setLocationRelativeTo(this);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        // Booking details
+        JPanel detailsPanel = new JPanel(new GridLayout(0, 2, 10, 10));
+        detailsPanel.setBorder(BorderFactory.createTitledBorder("Booking Details"));
+
+        detailsPanel.add(new JLabel("Booking ID:"));
+        detailsPanel.add(new JLabel(booking.getBookingId()));
+
+        detailsPanel.add(new JLabel("Room Number:"));
+        detailsPanel.add(new JLabel(booking.getRoom().getRoomNumber()));
+
+        detailsPanel.add(new JLabel("Room Category:"));
+        detailsPanel.add(new JLabel(booking.getRoom().getCategory().toString()));
+
+        detailsPanel.add(new JLabel("Guest Name:"));
+        detailsPanel.add(new JLabel(booking.getGuestName()));
+
+        detailsPanel.add(new JLabel("Check-in:"));
+        detailsPanel.add(new JLabel(formatDate(booking.getCheckInDate())));
+
+        detailsPanel.add(new JLabel("Check-out:"));
+        detailsPanel.add(new JLabel(formatDate(booking.getCheckOutDate())));
+
+        detailsPanel.add(new JLabel("Number of Nights:"));
+        detailsPanel.add(new JLabel(String.valueOf(booking.getNumberOfNights())));
+
+        detailsPanel.add(new JLabel("Price per Night:"));
+        detailsPanel.add(new JLabel("$" + booking.getRoom().getPricePerNight()));
+
+        detailsPanel.add(new JLabel("Total Amount:"));
+        JLabel totalLabel = new JLabel("$" + booking.getTotalAmount());
+        totalLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        totalLabel.setForeground(SUCCESS_COLOR);
+        detailsPanel.add(totalLabel);
+
+        mainPanel.add(detailsPanel, BorderLayout.NORTH);
+
+        // Payment method
+        JPanel paymentPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+        paymentPanel.setBorder(BorderFactory.createTitledBorder("Payment Method"));
+
+        ButtonGroup paymentGroup = new ButtonGroup();
+        JRadioButton creditCard = new JRadioButton("Credit Card", true);
+        JRadioButton debitCard = new JRadioButton("Debit Card");
+        JRadioButton paypal = new JRadioButton("PayPal");
+
+        paymentGroup.add(creditCard);
+        paymentGroup.add(debitCard);
+        paymentGroup.add(paypal);
+
+        paymentPanel.add(creditCard);
+        paymentPanel.add(debitCard);
+        paymentPanel.add(paypal);
+
+        mainPanel.add(paymentPanel, BorderLayout.CENTER);
+
+        // Buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+
+        JButton confirmButton = createStyledButton("Confirm Payment", SUCCESS_COLOR);
+        confirmButton.addActionListener(e -> {
+            HotelEvents.UiAction event = new HotelEvents.UiAction();
+            event.begin();
+            boolean confirmed;
+            try {
+                confirmed = hotelManager.confirmBooking(booking.getBookingId());
+            } catch (UncheckedIOException ex) {
+                bookingsTableModel.bookingChanged(booking);
+                commitUiAction(event, "showPaymentDialog.confirm", booking);
+                showJournalError(paymentDialog, ex);
+                paymentDialog.dispose();
+                return;
+            }
+            bookingsTableModel.bookingChanged(booking);
+            loadRoomsToTable();
+            commitUiAction(event, "showPaymentDialog.confirm", booking);
+            if (!confirmed) {
+                JOptionPane.showMessageDialog(paymentDialog,
+                        "This booking is no longer on hold, so it cannot be paid.\nPlease search and book again.",
+                        "Hold Expired", JOptionPane.WARNING_MESSAGE);
+                paymentDialog.dispose();
+                return;
+            }
+            JOptionPane.showMessageDialog(paymentDialog,
+                    "Payment Successful!\n\nBooking ID: " + booking.getBookingId() +
+                            "\n\nA confirmation email has been sent to " + booking.getEmail(),
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+            paymentDialog.dispose();
+            tabbedPane.setSelectedIndex(1); // Switch to bookings tab
+        });
+
+        JButton cancelButton = createStyledButton("Cancel", DANGER_COLOR);
+        cancelButton.addActionListener(e -> {
+            HotelEvents.UiAction event = new HotelEvents.UiAction();
+            event.begin();
+            UncheckedIOException failure = null;
+            try {
+                hotelManager.cancelBooking(booking.getBookingId());
+            } catch (UncheckedIOException ex) {
+                failure = ex;
+            }
+            bookingsTableModel.bookingChanged(booking);
+            commitUiAction(event, "showPaymentDialog.cancel", booking);
+            if (failure != null) {
+                showJournalError(paymentDialog, failure);
+            }
+            paymentDialog.dispose();
+        });
+
+        buttonPanel.add(confirmButton);
+        buttonPanel.add(cancelButton);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        paymentDialog.add(mainPanel);
+        paymentDialog.setVisible(true);
+    }
+
+    private void loadBookingsToTable() {
+        bookingsTableModel.reload();
+    }
+
+    private void viewBookingDetails() {
+        int selectedRow = bookingsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a booking to view.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Booking booking = bookingsTableModel.getBooking(bookingsTable.convertRowIndexToModel(selectedRow));
+
+        if (booking != null) {
+            StringBuilder details = new StringBuilder();
+            details.append("BOOKING DETAILS\n");
+            details.append("================\n\n");
+            details.append("Booking ID: ").append(booking.getBookingId()).append("\n");
+            details.append("Guest Name: ").append(booking.getGuestName()).append("\n");
+            details.append("Email: ").append(booking.getEmail()).append("\n");
+            details.append("Phone: ").append(booking.getPhone()).append("\n\n");
+            details.append("Room Number: ").append(booking.getRoom().getRoomNumber()).append("\n");
+            details.append("Category: ").append(booking.getRoom().getCategory()).append("\n");
+            details.append("Amenities: ").append(booking.getRoom().getAmenities()).append("\n\n");
+            details.append("Check-in: ").append(formatDate(booking.getCheckInDate()))
+                    .append("\n");
+            details.append("Check-out: ").append(formatDate(booking.getCheckOutDate()))
+                    .append("\n");
+            details.append("Number of Nights: ").append(booking.getNumberOfNights()).append("\n");
+            details.append("Number of Guests: ").append(booking.getNumberOfGuests()).append("\n\n");
+            details.append("Total Amount: $").append(booking.getTotalAmount()).append("\n");
+            details.append("Status: ").append(booking.getStatus()).append("\n");
+
+            JTextArea textArea = new JTextArea(details.toString());
+            textArea.setEditable(false);
+            textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+            JOptionPane.showMessageDialog(this, new JScrollPane(textArea), "Booking Details",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    private void cancelBooking() {
+        int selectedRow = bookingsTable.getSelectedRow();
+        if (selectedRow == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a booking to cancel.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        int modelRow = bookingsTable.convertRowIndexToModel(selectedRow);
+        Booking booking = bookingsTableModel.getBooking(modelRow);
+        if (booking == null) {
+            return;
+        }
+        String bookingId = booking.getBookingId();
+
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            JOptionPane.showMessageDialog(this, "This booking is already cancelled.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        int option = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to cancel this booking?\nBooking ID: " + bookingId,
+                "Confirm Cancellation", JOptionPane.YES_NO_OPTION);
+
+        if (option == JOptionPane.YES_OPTION) {
+            HotelEvents.UiAction event = new HotelEvents.UiAction();
+            event.begin();
+            boolean cancelled;
+            try {
+                cancelled = hotelManager.cancelBooking(bookingId);
+            } catch (UncheckedIOException e) {
+                bookingsTableModel.bookingChanged(booking);
+                roomsTableModel.roomChanged(booking.getRoom());
+                commitUiAction(event, "cancelBooking", booking);
+                showJournalError(this, e);
+                return;
+            }
+            if (cancelled) {
+                bookingsTableModel.bookingChanged(booking);
+                roomsTableModel.roomChanged(booking.getRoom());
+            }
+            commitUiAction(event, "cancelBooking", booking);
+            if (cancelled) {
+                JOptionPane.showMessageDialog(this, "Booking cancelled successfully!", "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to cancel booking.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    // The change stands, but its journal record has not reached the disk yet
+    private static void showJournalError(Component parent, UncheckedIOException e) {
+        JOptionPane.showMessageDialog(parent, "The change was made but could not be saved to disk; it will be "
+                + "retried.\n\n" + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    // Ends a handler's event before its result dialogs, so the time the user
+    // spends reading them is left out
+    private static void commitUiAction(HotelEvents.UiAction event, String action, Booking booking) {
+        if (event.shouldCommit()) {
+            event.action = action;
+            if (booking != null) {
+                event.roomNumber = booking.getRoom().getRoomNumber();
+                event.checkIn = HotelEvents.day(booking.getCheckInDay());
+                event.checkOut = HotelEvents.day(booking.getCheckOutDay());
+                event.bookingId = booking.getBookingId();
+                event.resultSize = 1;
+            }
+            event.commit();
+        }
+    }
+
+    private void addNewRoom() {
+        JDialog dialog = new JDialog(this, "Add New Room", true);
+        dialog.setSize(400, 400);
+        dialog.setLocationRelativeTo(this);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JTextField roomNumberField = new JTextField(10);
+        JComboBox<RoomCategory> categoryBox = new JComboBox<>(RoomCategory.values());
+        JSpinner priceSpinner = new JSpinner(new SpinnerNumberModel(100.0, 50.0, 1000.0, 10.0));
+        JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(2, 1, 10, 1));
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        panel.add(new JLabel("Room Number:"), gbc);
+        gbc.gridx = 1;
+        panel.add(roomNumberField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        panel.add(new JLabel("Category:"), gbc);
+        gbc.gridx = 1;
+        panel.add(categoryBox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Price per Night:"), gbc);
+        gbc.gridx = 1;
+        panel.add(priceSpinner, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Max Capacity:"), gbc);
+        gbc.gridx = 1;
+        panel.add(capacitySpinner, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.gridwidth = 2;
+        JButton addButton = createStyledButton("Add Room", SUCCESS_COLOR);
+        addButton.addActionListener(e -> {
+            String roomNumber = roomNumberField.getText().trim();
+            if (roomNumber.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Please enter a room number.", "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            RoomCategory category = (RoomCategory) categoryBox.getSelectedItem();
+            double price = (double) priceSpinner.getValue();
+            int capacity = (int) capacitySpinner.getValue();
+
+            Room room = new Room(roomNumber, category, price, capacity);
+            try {
+                hotelManager.addRoom(room);
+            } catch (UncheckedIOException ex) {
+                showJournalError(dialog, ex);
+                dialog.dispose();
+                loadRoomsToTable();
+                return;
+            }
+
+            JOptionPane.showMessageDialog(dialog, "Room added successfully!", "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+            dialog.dispose();
+            loadRoomsToTable();
+        });
+        panel.add(addButton, gbc);
+
+        dialog.add(panel);
+        dialog.setVisible(true);
+    }
+
+    private void resetAllData() {
+        int option = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to reset all data?\nThis will delete all bookings and reset rooms.",
+                "Confirm Reset", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+
+        if (option == JOptionPane.YES_OPTION) {
+            hotelManager.resetData();
+            loadRoomsToTable();
+            loadBookingsToTable();
+            JOptionPane.showMessageDialog(this, "All data has been reset.", "Success", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--headless")) {
+            runHeadless(args);
+            return;
+        }
+
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            HotelReservationSystem system = new HotelReservationSystem();
+            system.setVisible(true);
+        });
+    }
+
+    // Serves HotelManager over HTTP without touching Swing:
+    // --headless [--port N] [--bind ADDRESS], on loopback unless an address is given
+    private static void runHeadless(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int port = 8080;
+        String bind = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--port")) {
+                port = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--bind")) {
+                bind = args[i + 1];
+            }
+        }
+
+        HotelManager manager = new HotelManager();
+        try {
+            InetAddress address = bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+            BookingService service = new BookingService(manager, address, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                service.stop();
+                manager.close();
+            }));
+            service.start();
+            System.out.println("Hotel booking service listening on " + address.getHostAddress() + ":" + service.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting booking service: " + e.getMessage());
+            manager.close();
+        }
+    }
+}
+
+/**
+ * Room Category Enumeration
+ */
+enum RoomCategory {
+    STANDARD("Standard Room", "Basic amenities"),
+    DELUXE("Deluxe Room", "Premium amenities, City view"),
+    SUITE("Suite", "Luxury amenities, Separate living area, Premium view");
+
+    private String displayName;
+    private String description;
+
+    RoomCategory(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
+
+/**
+ * Room Class
+ */
+class Room implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int id = -1;
+    private String roomNumber;
+    private RoomCategory category;
+    private double pricePerNight;
+    private int maxCapacity;
+    private volatile boolean available;
+    private String amenities;
+    private transient HotelStats stats;
+
+    public Room(String roomNumber, RoomCategory category, double pricePerNight, int maxCapacity) {
+        this.roomNumber = roomNumber;
+        this.category = category;
+        this.pricePerNight = pricePerNight;
+        this.maxCapacity = maxCapacity;
+        this.available = true;
+        this.amenities = generateAmenities(category);
+    }
+
+    private String generateAmenities(RoomCategory category) {
+        switch (category) {
+            case STANDARD:
+                return "WiFi, TV, AC";
+            case DELUXE:
+                return "WiFi, Smart TV, AC, Mini-bar, City View";
+            case SUITE:
+                return "WiFi, Smart TV, AC, Mini-bar, Jacuzzi, Premium View, Living Area";
+            default:
+                return "Basic Amenities";
+        }
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    // Stable position of the room in HotelManager, assigned when it is registered
+    void setId(int id) {
+        this.id = id;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public RoomCategory getCategory() {
+        return category;
+    }
+
+    public double getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public synchronized void setAvailable(boolean available) {
+        if (this.available != available) {
+            this.available = available;
+            if (stats != null) {
+                stats.availabilityChanged(available);
+            }
+        }
+    }
+
+    // Reports availability changes to the owning manager's dashboard figures
+    synchronized void track(HotelStats stats) {
+        this.stats = stats;
+        stats.roomTracked(this);
+    }
+
+    public String getAmenities() {
+        return amenities;
+    }
+}
+
+/**
+ * Booking Status Enumeration
+ */
+enum BookingStatus {
+    PENDING, CONFIRMED, CANCELLED, COMPLETED
+}
+
+/**
+ * Booking Class
+ */
+class Booking implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String bookingId;
+    private int roomId;
+    private transient Room room;
+    private String guestName;
+    private String email;
+    private String phone;
+    private int checkInDay;
+    private int checkOutDay;
+    private int numberOfGuests;
+    private volatile BookingStatus status;
+    private double totalAmount;
+    private long bookedAtMillis;
+    // Set on views of a BookingStore row, which own the booking's status. The
+    // row is looked up again by ID once the store's generation moves on.
+    private transient BookingStore store;
+    private transient int row;
+    private transient long generation;
+
+    public Booking(Room room, String guestName, String email, String phone,
+            Date checkInDate, Date checkOutDate, int numberOfGuests) {
+        this.bookingId = generateBookingId();
+        this.room = room;
+        this.roomId = room.getId();
+        this.guestName = guestName;
+        this.email = email;
+        this.phone = phone;
+        this.checkInDay = Days.toEpochDay(checkInDate);
+        this.checkOutDay = Days.toEpochDay(checkOutDate);
+        this.numberOfGuests = numberOfGuests;
+        this.status = BookingStatus.PENDING;
+        this.bookedAtMillis = System.currentTimeMillis();
+        this.totalAmount = calculateTotalAmount();
+    }
+
+    // Restores a booking exactly as it was recorded
+    Booking(String bookingId, Room room, String guestName, String email, String phone,
+            Date checkInDate, Date checkOutDate, int numberOfGuests, BookingStatus status,
+            double totalAmount, Date bookingDate) {
+        this.bookingId = bookingId;
+        this.room = room;
+        this.roomId = room.getId();
+        this.guestName = guestName;
+        this.email = email;
+        this.phone = phone;
+        this.checkInDay = Days.toEpochDay(checkInDate);
+        this.checkOutDay = Days.toEpochDay(checkOutDate);
+        this.numberOfGuests = numberOfGuests;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.bookedAtMillis = bookingDate.getTime();
+    }
+
+    // A view of a BookingStore row; status reads and writes go to the store
+    Booking(BookingStore store, int row, long generation, String bookingId, Room room, String guestName,
+            String email, String phone, int checkInDay, int checkOutDay, int numberOfGuests, BookingStatus status,
+            double totalAmount, long bookedAtMillis) {
+        this.store = store;
+        this.row = row;
+        this.generation = generation;
+        this.status = status;
+        this.bookingId = bookingId;
+        this.room = room;
+        this.roomId = room.getId();
+        this.guestName = guestName;
+        this.email = email;
+        this.phone = phone;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+        this.numberOfGuests = numberOfGuests;
+        this.totalAmount = totalAmount;
+        this.bookedAtMillis = bookedAtMillis;
+    }
+
+    private String generateBookingId() {
+        return BookingIdGenerator.getDefault().nextId();
+    }
+
+    private double calculateTotalAmount() {
+        return getNumberOfNights() * room.getPricePerNight();
+    }
+
+    public int getNumberOfNights() {
+        return getCheckOutDay() - getCheckInDay();
+    }
+
+    // Getters and Setters
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    // Points the booking at the canonical instance of its room
+    void attachRoom(Room room) {
+        this.room = room;
+        this.roomId = room.getId();
+    }
+
+    // Old bookings.dat files embed a full copy of the Room in every booking; it
+    // is kept only until HotelManager swaps in the canonical instance.
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        bookingId = (String) fields.get("bookingId", null);
+        roomId = fields.get("roomId", -1);
+        room = (Room) fields.get("room", null);
+        guestName = (String) fields.get("guestName", null);
+        email = (String) fields.get("email", null);
+        phone = (String) fields.get("phone", null);
+        checkInDay = Days.toEpochDay((Date) fields.get("checkInDate", null));
+        checkOutDay = Days.toEpochDay((Date) fields.get("checkOutDate", null));
+        numberOfGuests = fields.get("numberOfGuests", 0);
+        status = (BookingStatus) fields.get("status", null);
+        totalAmount = fields.get("totalAmount", 0.0);
+        bookedAtMillis = ((Date) fields.get("bookingDate", null)).getTime();
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public Date getCheckInDate() {
+        return Days.toDate(checkInDay);
+    }
+
+    public Date getCheckOutDate() {
+        return Days.toDate(checkOutDay);
+    }
+
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    public int getCheckOutDay() {
+        return checkOutDay;
+    }
+
+    public int getNumberOfGuests() {
+        return numberOfGuests;
+    }
+
+    // A view whose booking has been archived keeps the status it last saw
+    public BookingStatus getStatus() {
+        if (store == null) {
+            return status;
+        }
+        synchronized (store) {
+            int current = currentRow();
+            if (current >= 0) {
+                status = store.getStatus(current);
+            }
+            return status;
+        }
+    }
+
+    public void setStatus(BookingStatus status) {
+        if (store == null) {
+            this.status = status;
+            return;
+        }
+        synchronized (store) {
+            int current = currentRow();
+            if (current >= 0) {
+                store.setStatus(current, status);
+                this.status = status;
+            }
+        }
+    }
+
+    // Called holding the store's lock; -1 once the booking has left the store
+    private int currentRow() {
+        long storeGeneration = store.getGeneration();
+        if (generation != storeGeneration) {
+            row = store.indexOf(bookingId);
+            generation = storeGeneration;
+        }
+        return row;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Date getBookingDate() {
+        return new Date(bookedAtMillis);
+    }
+
+    public long getBookedAtMillis() {
+        return bookedAtMillis;
+    }
+}
+
+/**
+ * Hotel Manager - Manages rooms and bookings with file I/O
+ *
+ * Safe for concurrent use. Each room's schedule doubles as that room's lock,
+ * so the overlap check and insertion of a booking are atomic per room while
+ * bookings for different rooms proceed in parallel. Mutations share the
+ * read side of stateLock; snapshots, resets and room additions take the
+ * write side so they see a quiescent state.
+ */
+class HotelManager {
+    private final HotelStats stats = new HotelStats();
+    private List<Room> rooms;
+    private final BookingStore bookings = new BookingStore(stats);
+    private final Map<String, Room> roomsByNumber = new ConcurrentHashMap<>();
+    private final List<RoomSchedule> schedules = new CopyOnWriteArrayList<>();
+    private volatile OccupancyCalendar calendar = new OccupancyCalendar(Days.today());
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final SearchCache searchCache = new SearchCache(Integer.getInteger("hotel.searchCacheSize", 1024));
+    private static final String ROOMS_FILE = "rooms.dat";
+    private static final String BOOKINGS_FILE = "bookings.dat";
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    private final File dataDir;
+    private final BookingJournal journal;
+    private final JournalWriter journalWriter;
+    private final Durability durability;
+    private final BookingArchive archive;
+    private final int archiveAfterDays;
+    private volatile int lastArchiveDay = Integer.MIN_VALUE;
+    private final LifecycleSweeper sweeper;
+    private final SnapshotStore snapshots;
+    private final int snapshotInterval;
+    private final AtomicInteger eventsSinceSnapshot = new AtomicInteger();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final HotelMetrics metrics = new HotelMetrics();
+
+    public HotelManager() {
+        this(Durability.WRITTEN);
+    }
+
+    // Reads the data directory and fsync policy from system properties, and
+    // the durability too unless -Dhotel.durability is unset
+    public HotelManager(Durability defaultDurability) {
+        this(new File("."), FsyncPolicy.parse(System.getProperty("hotel.fsync"), FsyncPolicy.BATCHED),
+                Durability.parse(System.getProperty("hotel.durability"), defaultDurability));
+    }
+
+    public HotelManager(File dataDir, FsyncPolicy fsyncPolicy) {
+        this(dataDir, fsyncPolicy, Durability.WRITTEN);
+    }
+
+    /**
+     * Mutations return once their journal record has reached the given
+     * durability; the record itself is appended by a background writer.
+     */
+    public HotelManager(File dataDir, FsyncPolicy fsyncPolicy, Durability durability) {
+        this.dataDir = dataDir;
+        this.durability = durability;
+        rooms = new CopyOnWriteArrayList<>();
+        journal = new BookingJournal(dataDir, fsyncPolicy);
+        journalWriter = new JournalWriter(journal, metrics, this::snapshotIfDue);
+        archive = new BookingArchive(dataDir, roomsByNumber::get, id -> rooms.get(id),
+                Integer.getInteger("hotel.archiveCacheSegments", 4));
+        archiveAfterDays = Integer.getInteger("hotel.archiveAfterDays", 30);
+        sweeper = new LifecycleSweeper(new LifecycleSweeper.Actions() {
+            public int expireHolds(List<String> bookingIds) {
+                return HotelManager.this.expireHolds(bookingIds);
+            }
+
+            public int completeStays(List<String> bookingIds) {
+                return HotelManager.this.completeStays(bookingIds);
+            }
+
+            public void swept() {
+                rollCalendar();
+                archiveIfDue();
+            }
+        }, Boolean.parseBoolean(System.getProperty("hotel.lifecycleSweep", "true")),
+                TimeUnit.MINUTES.toMillis(Integer.getInteger("hotel.holdTtlMinutes", 15)));
+        snapshots = new SnapshotStore(dataDir);
+        snapshotInterval = Integer.getInteger("hotel.snapshotInterval", 10_000);
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            loadData();
+            failed = false;
+        } finally {
+            metrics.record(HotelMetrics.Operation.LOAD_DATA, started, failed);
+        }
+
+        // Initialize with sample rooms if empty
+        if (rooms.isEmpty()) {
+            initializeSampleRooms();
+        }
+        archiveIfDue();
+        scheduleLifecycle();
+        journalWriter.start();
+        sweeper.start();
+        if (Boolean.parseBoolean(System.getProperty("hotel.jmx", "true"))) {
+            metrics.registerMBeans(dataDir.getAbsoluteFile().toPath().normalize().toString());
+        }
+    }
+
+    private void initializeSampleRooms() {
+        indexRoom(new Room("101", RoomCategory.STANDARD, 100.0, 2));
+        indexRoom(new Room("102", RoomCategory.STANDARD, 100.0, 2));
+        indexRoom(new Room("103", RoomCategory.STANDARD, 110.0, 3));
+        indexRoom(new Room("201", RoomCategory.DELUXE, 200.0, 2));
+        indexRoom(new Room("202", RoomCategory.DELUXE, 200.0, 2));
+        indexRoom(new Room("203", RoomCategory.DELUXE, 220.0, 4));
+        indexRoom(new Room("301", RoomCategory.SUITE, 350.0, 4));
+        indexRoom(new Room("302", RoomCategory.SUITE, 400.0, 6));
+        saveSnapshot();
+    }
+
+    public List<Room> searchRooms(RoomCategory category, int guests, Date checkIn, Date checkOut) {
+        List<Room> availableRooms = new ArrayList<>();
+        searchRooms(category, guests, checkIn, checkOut, availableRooms::add);
+        return availableRooms;
+    }
+
+    // Streams matching rooms to the consumer as they are found; the consumer
+    // returns false to stop the search early. Only searches that ran to the
+    // end are cached.
+    public void searchRooms(RoomCategory category, int guests, Date checkIn, Date checkOut,
+            Predicate<Room> consumer) {
+        long started = System.nanoTime();
+        HotelEvents.Search event = new HotelEvents.Search();
+        event.begin();
+        boolean failed = true;
+        try {
+            int found = streamRooms(category, guests, checkIn, checkOut, consumer, event);
+            failed = false;
+            if (event.shouldCommit()) {
+                event.category = category == null ? null : category.name();
+                event.guests = guests;
+                event.checkIn = HotelEvents.day(checkIn);
+                event.checkOut = HotelEvents.day(checkOut);
+                event.resultSize = found;
+                event.commit();
+            }
+        } finally {
+            metrics.record(HotelMetrics.Operation.SEARCH_ROOMS, started, failed);
+        }
+    }
+
+    // Returns how many rooms were passed to the consumer
+    private int streamRooms(RoomCategory category, int guests, Date checkIn, Date checkOut,
+            Predicate<Room> consumer, HotelEvents.Search event) {
+        int checkInDay = Days.toEpochDay(checkIn);
+        int checkOutDay = Days.toEpochDay(checkOut);
+        if (checkOutDay <= checkInDay) {
+            return 0;
+        }
+
+        SearchCache.Query query = new SearchCache.Query(category, guests, checkInDay, checkOutDay);
+        List<Room> cached = searchCache.get(query);
+        if (cached != null) {
+            event.cached = true;
+            int delivered = 0;
+            for (Room room : cached) {
+                delivered++;
+                if (!consumer.test(room)) {
+                    break;
+                }
+            }
+            return delivered;
+        }
+        long version = searchCache.version();
+        List<Room> found = new ArrayList<>();
+        boolean complete = findRooms(category, guests, checkInDay, checkOutDay, room -> {
+            found.add(room);
+            return consumer.test(room);
+        });
+        if (complete) {
+            searchCache.put(query, found, version);
+        }
+        return found.size();
+    }
+
+    // Returns false if the consumer stopped the search
+    private boolean findRooms(RoomCategory category, int guests, int checkInDay, int checkOutDay,
+            Predicate<Room> consumer) {
+        OccupancyCalendar current = currentCalendar();
+        if (current.covers(checkInDay, checkOutDay)) {
+            BitSet free = current.freeRooms(category, guests, checkInDay, checkOutDay);
+            for (int id = free.nextSetBit(0); id >= 0; id = free.nextSetBit(id + 1)) {
+                Room room = rooms.get(id);
+                if (room.isAvailable() && !consumer.test(room)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Dates outside the calendar horizon fall back to the per-room schedules
+        for (Room room : rooms) {
+            if (room.getMaxCapacity() >= guests) {
+                if (category == null || room.getCategory() == category) {
+                    if (isRoomAvailable(room, checkInDay, checkOutDay) && !consumer.test(room)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isRoomAvailable(Room room, int checkInDay, int checkOutDay) {
+        return scheduleFor(room).isFree(checkInDay, checkOutDay) && room.isAvailable();
+    }
+
+    /**
+     * Returns how many rooms of the category (null for any) are free on the
+     * busiest night of the stay, whatever their capacity. Zero means the
+     * category is sold out on at least one night; a positive count does not
+     * promise a single room free for every night.
+     */
+    public int getFreeRoomCount(RoomCategory category, Date checkIn, Date checkOut) {
+        int checkInDay = Days.toEpochDay(checkIn);
+        int checkOutDay = Days.toEpochDay(checkOut);
+        if (checkOutDay <= checkInDay) {
+            return 0;
+        }
+        OccupancyCalendar current = currentCalendar();
+        if (current.covers(checkInDay, checkOutDay)) {
+            return current.freeRoomCount(category, checkInDay, checkOutDay);
+        }
+
+        // Outside the calendar horizon count night by night from the schedules
+        int fewest = Integer.MAX_VALUE;
+        for (int day = checkInDay; day < checkOutDay && fewest > 0; day++) {
+            int free = 0;
+            for (Room room : rooms) {
+                if ((category == null || room.getCategory() == category) && isRoomAvailable(room, day, day + 1)) {
+                    free++;
+                }
+            }
+            fewest = Math.min(fewest, free);
+        }
+        return fewest;
+    }
+
+    // Whether the stay lies within the booking calendar, where free room counts are O(log days)
+    public boolean isWithinCalendar(Date checkIn, Date checkOut) {
+        return currentCalendar().covers(Days.toEpochDay(checkIn), Days.toEpochDay(checkOut));
+    }
+
+    public boolean isSoldOut(RoomCategory category, Date checkIn, Date checkOut) {
+        return getFreeRoomCount(category, checkIn, checkOut) == 0;
+    }
+
+    /**
+     * Returns up to limit of the earliest free stays of the given number of
+     * nights, checking in on or after the given date, in rooms matching the
+     * category (null for any) and guest count. A room offers at most one
+     * window per free gap between its bookings, the earliest in that gap.
+     * Windows are ordered by check-in day, then room.
+     */
+    public List<StayWindow> findAvailableWindows(RoomCategory category, int guests, Date from, int nights,
+            int limit) {
+        List<StayWindow> windows = new ArrayList<>();
+        if (nights <= 0 || limit <= 0) {
+            return windows;
+        }
+        int fromDay = Days.toEpochDay(from);
+
+        // One cursor per matching room, holding its next window; the earliest is taken each round
+        PriorityQueue<StayWindow> next = new PriorityQueue<>(Comparator.comparingInt(StayWindow::getCheckInDay)
+                .thenComparingInt(window -> window.getRoom().getId()));
+        for (Room room : rooms) {
+            if (room.getMaxCapacity() >= guests && (category == null || room.getCategory() == category)
+                    && room.isAvailable()) {
+                int start = scheduleFor(room).nextFreeStart(fromDay, nights);
+                next.add(new StayWindow(room, start, start + nights));
+            }
+        }
+        while (windows.size() < limit && !next.isEmpty()) {
+            StayWindow window = next.poll();
+            windows.add(window);
+            RoomSchedule schedule = scheduleFor(window.getRoom());
+            int gapAfter = schedule.nextStayEnd(window.getCheckInDay());
+            if (gapAfter >= 0) {
+                int start = schedule.nextFreeStart(gapAfter, nights);
+                next.add(new StayWindow(window.getRoom(), start, start + nights));
+            }
+        }
+        return windows;
+    }
+
+    private RoomSchedule scheduleFor(Room room) {
+        return schedules.get(room.getId());
+    }
+
+    // A calendar from before midnight stays correct for the days it covers,
+    // just a day short of the full horizon, until the sweeper rolls it over.
+    // Without the sweeper it is rolled over here. Must not be called while
+    // holding stateLock.
+    private OccupancyCalendar currentCalendar() {
+        OccupancyCalendar current = calendar;
+        if (current.getBaseDay() != Days.today() && !sweeper.isEnabled()) {
+            rollCalendar();
+            return calendar;
+        }
+        return current;
+    }
+
+    // Rebuilds the occupancy calendar once the horizon has moved to a new day
+    private void rollCalendar() {
+        int today = Days.today();
+        if (calendar.getBaseDay() == today) {
+            return;
+        }
+        stateLock.writeLock().lock();
+        try {
+            if (calendar.getBaseDay() != today) {
+                OccupancyCalendar rolled = new OccupancyCalendar(today, rooms);
+                for (Room room : rooms) {
+                    scheduleFor(room).forEachStayOverlapping(today, today + OccupancyCalendar.HORIZON_DAYS,
+                            (checkInDay, checkOutDay, row) -> rolled.occupy(room.getId(), checkInDay, checkOutDay));
+                }
+                calendar = rolled;
+            }
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    private void occupy(int row) {
+        int roomId = bookings.getRoomId(row);
+        int checkInDay = bookings.getCheckInDay(row);
+        int checkOutDay = bookings.getCheckOutDay(row);
+        schedules.get(roomId).add(row, checkInDay, checkOutDay);
+        calendar.occupy(roomId, checkInDay, checkOutDay);
+    }
+
+    private boolean release(int row) {
+        int roomId = bookings.getRoomId(row);
+        int checkInDay = bookings.getCheckInDay(row);
+        if (schedules.get(roomId).remove(row, checkInDay)) {
+            calendar.release(roomId, checkInDay, bookings.getCheckOutDay(row));
+            return true;
+        }
+        return false;
+    }
+
+    // Builds a Booking object for a stored row
+    private Booking view(int row) {
+        return bookings.view(row, rooms.get(bookings.getRoomId(row)));
+    }
+
+    // Index Maintenance. Rows already in the store are indexed as they are;
+    // bookings read from older formats are attached to canonical rooms and
+    // added to the store.
+    private void rebuildIndexes(List<Booking> loadedBookings) {
+        indexRooms(rooms);
+        int stored = bookings.size();
+        for (int row = 0; row < stored; row++) {
+            if (bookings.getStatus(row) != BookingStatus.CANCELLED) {
+                occupy(row);
+            }
+        }
+        for (Booking booking : loadedBookings) {
+            booking.attachRoom(canonicalRoom(booking.getRoom()));
+            int row = bookings.add(booking);
+            if (row >= 0 && booking.getStatus() != BookingStatus.CANCELLED) {
+                occupy(row);
+            }
+        }
+    }
+
+    // Resolves a booking's room to the single shared instance for that room
+    // number. Rooms that only survive inside old booking records are kept.
+    private Room canonicalRoom(Room room) {
+        if (room.getId() >= 0 && room.getId() < rooms.size() && rooms.get(room.getId()) == room) {
+            return room;
+        }
+        Room canonical = roomsByNumber.get(room.getRoomNumber());
+        if (canonical == null) {
+            System.err.println("Restoring room " + room.getRoomNumber() + " referenced only by bookings");
+            indexRoom(room);
+            canonical = room;
+        }
+        return canonical;
+    }
+
+    // Indexes a whole room list at once; adding rooms one by one to the
+    // copy-on-write lists and the calendar would cost O(rooms^2)
+    private void indexRooms(List<Room> loadedRooms) {
+        List<Room> indexed = new ArrayList<>(loadedRooms.size());
+        List<RoomSchedule> loadedSchedules = new ArrayList<>(loadedRooms.size());
+        roomsByNumber.clear();
+        for (Room room : loadedRooms) {
+            room.setId(indexed.size());
+            indexed.add(room);
+            loadedSchedules.add(new RoomSchedule());
+            roomsByNumber.putIfAbsent(room.getRoomNumber(), room);
+            room.track(stats);
+        }
+        schedules.clear();
+        schedules.addAll(loadedSchedules);
+        rooms = new CopyOnWriteArrayList<>(indexed);
+        calendar = new OccupancyCalendar(Days.today(), rooms);
+    }
+
+    private void indexRoom(Room room) {
+        room.setId(rooms.size());
+        schedules.add(new RoomSchedule());
+        rooms.add(room);
+        calendar.addRoom(room);
+        roomsByNumber.putIfAbsent(room.getRoomNumber(), room);
+        room.track(stats);
+    }
+
+    public Booking createBooking(String roomNumber, String guestName, String email,
+            String phone, Date checkIn, Date checkOut, int guests) {
+        long started = System.nanoTime();
+        HotelEvents.BookingCreation event = new HotelEvents.BookingCreation();
+        event.begin();
+        boolean failed = true;
+        try {
+            Booking booking = placeBooking(roomNumber, guestName, email, phone, checkIn, checkOut, guests);
+            failed = false;
+            if (event.shouldCommit()) {
+                event.roomNumber = roomNumber;
+                event.checkIn = HotelEvents.day(checkIn);
+                event.checkOut = HotelEvents.day(checkOut);
+                event.bookingId = booking == null ? null : booking.getBookingId();
+                event.booked = booking != null;
+                event.commit();
+            }
+            return booking;
+        } finally {
+            metrics.record(HotelMetrics.Operation.CREATE_BOOKING, started, failed);
+        }
+    }
+
+    private Booking placeBooking(String roomNumber, String guestName, String email,
+            String phone, Date checkIn, Date checkOut, int guests) {
+        Room room = getRoomByNumber(roomNumber);
+        if (room == null || guests < 1 || guests > room.getMaxCapacity()) {
+            return null;
+        }
+        int checkInDay = Days.toEpochDay(checkIn);
+        int checkOutDay = Days.toEpochDay(checkOut);
+        if (checkOutDay <= checkInDay) {
+            return null;
+        }
+
+        Booking booking;
+        Booking view;
+        long ticket;
+        stateLock.readLock().lock();
+        try {
+            RoomSchedule schedule = scheduleFor(room);
+            HotelEvents.AvailabilityCheck check = new HotelEvents.AvailabilityCheck();
+            check.begin();
+            synchronized (schedule) {
+                boolean free = schedule.isFree(checkInDay, checkOutDay) && room.isAvailable();
+                if (check.shouldCommit()) {
+                    check.roomNumber = roomNumber;
+                    check.checkIn = HotelEvents.day(checkInDay);
+                    check.checkOut = HotelEvents.day(checkOutDay);
+                    check.free = free;
+                    check.commit();
+                }
+                if (!free) {
+                    return null;
+                }
+                booking = new Booking(room, guestName, email, phone, checkIn, checkOut, guests);
+                BookingJournal.Record record = encode(() -> BookingJournal.created(booking));
+                if (record == null) {
+                    return null;
+                }
+                int row = bookings.add(booking);
+                if (row < 0) {
+                    return null;
+                }
+                occupy(row);
+                searchCache.invalidate(room, checkInDay, checkOutDay);
+                view = bookings.view(row, room);
+                ticket = appendToJournal(record);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        sweeper.holdPlaced(booking.getBookingId(), booking.getBookedAtMillis());
+        awaitJournal(ticket);
+        return view;
+    }
+
+    /**
+     * Books every request or none of them. The locks of all rooms involved are
+     * taken in room order, so concurrent groups cannot deadlock, and every
+     * request is checked, including against the others in the group, before
+     * any room is claimed. The group is journaled as a single record and
+     * forced to disk once.
+     */
+    public GroupBookingResult createBookings(List<BookingRequest> requests) {
+        long started = System.nanoTime();
+        Room[] groupRooms = new Room[requests.size()];
+        int[] checkInDays = new int[requests.size()];
+        int[] checkOutDays = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            groupRooms[i] = getRoomByNumber(request.getRoomNumber());
+            if (groupRooms[i] == null) {
+                return GroupBookingResult.rejected(i, "No room " + request.getRoomNumber(),
+                        System.nanoTime() - started);
+            }
+            checkInDays[i] = Days.toEpochDay(request.getCheckIn());
+            checkOutDays[i] = Days.toEpochDay(request.getCheckOut());
+            if (checkOutDays[i] <= checkInDays[i]) {
+                return GroupBookingResult.rejected(i, "Check-out must be after check-in",
+                        System.nanoTime() - started);
+            }
+            if (request.getGuests() < 1 || request.getGuests() > groupRooms[i].getMaxCapacity()) {
+                return GroupBookingResult.rejected(i, "Room " + request.getRoomNumber() + " takes 1 to "
+                        + groupRooms[i].getMaxCapacity() + " guests", System.nanoTime() - started);
+            }
+        }
+
+        GroupBookingResult result;
+        long[] ticket = new long[1];
+        stateLock.readLock().lock();
+        try {
+            // Schedules are resolved under the read lock, as a reset or an archiving run replaces them
+            TreeMap<Integer, RoomSchedule> locks = new TreeMap<>();
+            for (Room room : groupRooms) {
+                locks.put(room.getId(), scheduleFor(room));
+            }
+            result = withLocks(new ArrayList<>(locks.values()), 0,
+                    () -> claimGroup(requests, groupRooms, checkInDays, checkOutDays, started, ticket));
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        if (result.isBooked()) {
+            awaitJournal(ticket[0]);
+        }
+        return result;
+    }
+
+    // Runs the body holding every lock from index on, taken in list order
+    private static <T> T withLocks(List<?> locks, int index, Supplier<T> body) {
+        if (index == locks.size()) {
+            return body.get();
+        }
+        synchronized (locks.get(index)) {
+            return withLocks(locks, index + 1, body);
+        }
+    }
+
+    // Called holding the locks of every room in the group; the journal ticket
+    // of a booked group is left in ticket[0]
+    private GroupBookingResult claimGroup(List<BookingRequest> requests, Room[] groupRooms, int[] checkInDays,
+            int[] checkOutDays, long started, long[] ticket) {
+        for (int i = 0; i < requests.size(); i++) {
+            Room room = groupRooms[i];
+            boolean free = room.isAvailable() && scheduleFor(room).isFree(checkInDays[i], checkOutDays[i]);
+            for (int j = 0; free && j < i; j++) {
+                free = groupRooms[j] != room || checkOutDays[j] <= checkInDays[i] || checkOutDays[i] <= checkInDays[j];
+            }
+            if (!free) {
+                return GroupBookingResult.rejected(i, "Room " + room.getRoomNumber() + " is not free for the stay",
+                        System.nanoTime() - started);
+            }
+        }
+
+        List<Booking> created = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            created.add(new Booking(groupRooms[i], request.getGuestName(), request.getEmail(), request.getPhone(),
+                    request.getCheckIn(), request.getCheckOut(), request.getGuests()));
+        }
+        BookingJournal.Record record = encode(() -> BookingJournal.groupCreated(created));
+        if (record == null) {
+            return GroupBookingResult.rejected(0, "The group could not be journaled", System.nanoTime() - started);
+        }
+
+        List<Booking> views = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Room room = groupRooms[i];
+            Booking booking = created.get(i);
+            int row = bookings.add(booking);
+            occupy(row);
+            searchCache.invalidate(room, checkInDays[i], checkOutDays[i]);
+            views.add(bookings.view(row, room));
+            sweeper.holdPlaced(booking.getBookingId(), booking.getBookedAtMillis());
+        }
+        ticket[0] = appendToJournal(record);
+        return GroupBookingResult.booked(views, System.nanoTime() - started);
+    }
+
+    public boolean cancelBooking(String bookingId) {
+        long started = System.nanoTime();
+        HotelEvents.Cancellation event = new HotelEvents.Cancellation();
+        event.begin();
+        boolean failed = true;
+        try {
+            boolean cancelled = cancelById(bookingId);
+            failed = false;
+            if (event.shouldCommit()) {
+                event.bookingId = bookingId;
+                event.roomNumber = residentRoomNumber(bookingId);
+                event.cancelled = cancelled;
+                event.commit();
+            }
+            return cancelled;
+        } finally {
+            metrics.record(HotelMetrics.Operation.CANCEL_BOOKING, started, failed);
+        }
+    }
+
+    // Rows are looked up under stateLock, as archiving renumbers them
+    private boolean cancelById(String bookingId) {
+        long ticket;
+        stateLock.readLock().lock();
+        try {
+            int row = bookings.indexOf(bookingId);
+            if (row < 0) {
+                return false;
+            }
+            synchronized (schedules.get(bookings.getRoomId(row))) {
+                ticket = cancel(row);
+                if (ticket < 0) {
+                    return false;
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        awaitJournal(ticket);
+        return true;
+    }
+
+    // Called holding the room's lock, or the write lock. Returns the journal
+    // ticket, or -1 if the change could not be encoded and nothing was changed.
+    private long cancel(int row) {
+        Room room = rooms.get(bookings.getRoomId(row));
+        String bookingId = bookings.getId(row);
+        BookingJournal.Record record = encode(() -> BookingJournal.statusChanged(bookingId, BookingStatus.CANCELLED));
+        if (record == null) {
+            return -1;
+        }
+        boolean wasAvailable = room.isAvailable();
+        bookings.setStatus(row, BookingStatus.CANCELLED);
+        room.setAvailable(true);
+        calendar.setRoomAvailable(room.getId(), true);
+        boolean released = release(row);
+        if (!wasAvailable) {
+            searchCache.invalidate(room);
+        } else if (released) {
+            searchCache.invalidate(room, bookings.getCheckInDay(row), bookings.getCheckOutDay(row));
+        }
+        return appendToJournal(record);
+    }
+
+    /**
+     * Marks a stay that has ended as completed. Called holding the room's
+     * lock, or the write lock; returns the journal ticket, or -1 if the
+     * change could not be encoded and nothing was changed.
+     */
+    private long complete(int row) {
+        String bookingId = bookings.getId(row);
+        BookingJournal.Record record = encode(() -> BookingJournal.statusChanged(bookingId, BookingStatus.COMPLETED));
+        if (record == null) {
+            return -1;
+        }
+        bookings.setStatus(row, BookingStatus.COMPLETED);
+        return appendToJournal(record);
+    }
+
+    // Fails once the hold has been cancelled, by the guest or by expiring
+    public boolean confirmBooking(String bookingId) {
+        HotelEvents.PaymentConfirmation event = new HotelEvents.PaymentConfirmation();
+        event.begin();
+        boolean confirmed = confirm(bookingId);
+        if (event.shouldCommit()) {
+            event.bookingId = bookingId;
+            event.roomNumber = residentRoomNumber(bookingId);
+            event.confirmed = confirmed;
+            event.commit();
+        }
+        return confirmed;
+    }
+
+    private boolean confirm(String bookingId) {
+        long ticket;
+        int checkOutDay;
+        stateLock.readLock().lock();
+        try {
+            int row = bookings.indexOf(bookingId);
+            if (row < 0) {
+                return false;
+            }
+            synchronized (schedules.get(bookings.getRoomId(row))) {
+                if (bookings.getStatus(row) != BookingStatus.PENDING) {
+                    return false;
+                }
+                BookingJournal.Record record = encode(() -> BookingJournal.statusChanged(bookingId, BookingStatus.CONFIRMED));
+                if (record == null) {
+                    return false;
+                }
+                bookings.setStatus(row, BookingStatus.CONFIRMED);
+                checkOutDay = bookings.getCheckOutDay(row);
+                ticket = appendToJournal(record);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        sweeper.stayConfirmed(bookingId, checkOutDay);
+        awaitJournal(ticket);
+        return true;
+    }
+
+    // Cancels the holds that are still unpaid, freeing their nights
+    private int expireHolds(List<String> bookingIds) {
+        int expired = 0;
+        stateLock.readLock().lock();
+        try {
+            for (String bookingId : bookingIds) {
+                int row = bookings.indexOf(bookingId);
+                if (row < 0) {
+                    continue;
+                }
+                synchronized (schedules.get(bookings.getRoomId(row))) {
+                    if (bookings.getStatus(row) == BookingStatus.PENDING && cancel(row) >= 0) {
+                        expired++;
+                    }
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return expired;
+    }
+
+    private int completeStays(List<String> bookingIds) {
+        int completed = 0;
+        stateLock.readLock().lock();
+        try {
+            for (String bookingId : bookingIds) {
+                int row = bookings.indexOf(bookingId);
+                if (row < 0) {
+                    continue;
+                }
+                synchronized (schedules.get(bookings.getRoomId(row))) {
+                    if (bookings.getStatus(row) == BookingStatus.CONFIRMED && complete(row) >= 0) {
+                        completed++;
+                    }
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return completed;
+    }
+
+    // Sets the timers of every resident booking still waiting for a transition
+    private void scheduleLifecycle() {
+        for (int row = 0; row < bookings.size(); row++) {
+            BookingStatus status = bookings.getStatus(row);
+            if (status == BookingStatus.PENDING) {
+                sweeper.holdPlaced(bookings.getId(row), bookings.getBookedAtMillis(row));
+            } else if (status == BookingStatus.CONFIRMED) {
+                sweeper.stayConfirmed(bookings.getId(row), bookings.getCheckOutDay(row));
+            }
+        }
+    }
+
+    public Room getRoomByNumber(String roomNumber) {
+        return roomsByNumber.get(roomNumber);
+    }
+
+    public Booking getBookingById(String bookingId) {
+        stateLock.readLock().lock();
+        try {
+            int row = bookings.indexOf(bookingId);
+            if (row >= 0) {
+                return view(row);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return archive.find(bookingId);
+    }
+
+    // Room of a booking still in memory, or null; archived bookings are not read
+    private String residentRoomNumber(String bookingId) {
+        stateLock.readLock().lock();
+        try {
+            int row = bookings.indexOf(bookingId);
+            return row < 0 ? null : rooms.get(bookings.getRoomId(row)).getRoomNumber();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    // Position of a booking in getBookingAt order, or -1 if it is unknown
+    public int getBookingIndex(String bookingId) {
+        stateLock.readLock().lock();
+        try {
+            return bookings.indexOf(bookingId);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    public void addRoom(Room room) {
+        BookingJournal.Record record = encode(() -> BookingJournal.roomAdded(room));
+        if (record == null) {
+            return;
+        }
+        long ticket;
+        stateLock.writeLock().lock();
+        try {
+            indexRoom(room);
+            searchCache.invalidate(room);
+            ticket = appendToJournal(record);
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        awaitJournal(ticket);
+    }
+
+    public List<Room> getAllRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+
+    // Returns views of every resident booking, so callers can iterate while
+    // other threads keep booking; archived bookings are left on disk
+    public List<Booking> getAllBookings() {
+        stateLock.readLock().lock();
+        try {
+            int count = bookings.size();
+            List<Booking> result = new ArrayList<>(count);
+            for (int row = 0; row < count; row++) {
+                result.add(view(row));
+            }
+            return result;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    // Resident bookings in the order they were made, then archived ones newest
+    // first. Positions hold until getBookingOrderVersion changes.
+    public int getBookingCount() {
+        stateLock.readLock().lock();
+        try {
+            return bookings.size() + archive.size();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    // Bookings made since the last reset or archiving run; they come first in getBookingAt order
+    public int getResidentBookingCount() {
+        return bookings.size();
+    }
+
+    // Null past the end, which a reset or an archiving run may have moved
+    public Booking getBookingAt(int index) {
+        stateLock.readLock().lock();
+        try {
+            int resident = bookings.size();
+            return index < resident ? view(index) : archive.get(index - resident);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    // Moves on with every reset or archiving run, which reorder getBookingAt positions
+    public long getBookingOrderVersion() {
+        return bookings.getGeneration();
+    }
+
+    /**
+     * One field of the booking at a getBookingAt position, or null past the
+     * end; ROOM_ID yields the Room. Resident bookings are read straight from
+     * the store, so a table can show them without building a view per cell.
+     */
+    public Object getBookingField(int index, BookingStore.Field field) {
+        stateLock.readLock().lock();
+        try {
+            int resident = bookings.size();
+            if (index < resident) {
+                Object value = bookings.get(index, field);
+                return field == BookingStore.Field.ROOM_ID ? rooms.get((Integer) value) : value;
+            }
+            Booking booking = archive.get(index - resident);
+            if (booking == null) {
+                return null;
+            }
+            switch (field) {
+                case ID:
+                    return booking.getBookingId();
+                case ROOM_ID:
+                    return booking.getRoom();
+                case GUEST_NAME:
+                    return booking.getGuestName();
+                case CHECK_IN_DAY:
+                    return booking.getCheckInDay();
+                case CHECK_OUT_DAY:
+                    return booking.getCheckOutDay();
+                case GUESTS:
+                    return booking.getNumberOfGuests();
+                case TOTAL_CENTS:
+                    return HotelDataFormat.toCents(booking.getTotalAmount());
+                default:
+                    return booking.getStatus();
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    public int getTotalRooms() {
+        return rooms.size();
+    }
+
+    public int getAvailableRooms() {
+        return stats.getAvailableRooms();
+    }
+
+    public int getBookedRooms() {
+        return getTotalRooms() - getAvailableRooms();
+    }
+
+    public double getTotalRevenue() {
+        return stats.getTotalRevenue();
+    }
+
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    // Holds expired and stays completed by the sweeper so far
+    public long getLifecycleChanges() {
+        return sweeper.getExpiredHolds() + sweeper.getCompletedStays();
+    }
+
+    public void resetData() {
+        stateLock.writeLock().lock();
+        try {
+            bookings.clear();
+            stats.archivedRevenueChanged(-archive.clear());
+            sweeper.clear();
+            for (int i = 0; i < schedules.size(); i++) {
+                schedules.set(i, new RoomSchedule());
+            }
+            calendar.clearOccupancy();
+            for (Room room : rooms) {
+                room.setAvailable(true);
+                calendar.setRoomAvailable(room.getId(), true);
+            }
+            searchCache.clear();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        saveSnapshot();
+    }
+
+    // File I/O Operations
+    private void loadData() {
+        SnapshotStore.Snapshot snapshot = snapshots.loadLatest();
+        long snapshotSequence = 0;
+        List<Booking> loadedBookings = new ArrayList<>();
+        if (snapshot != null) {
+            try {
+                loadedBookings = readSnapshot(snapshot);
+                snapshotSequence = snapshot.getSequence();
+            } catch (Exception e) {
+                System.err.println("Error reading snapshot: " + e.getMessage());
+                rooms = new CopyOnWriteArrayList<>();
+                bookings.clear();
+                snapshot = null;
+            }
+        }
+        if (snapshot == null) {
+            loadedBookings = loadLegacyData();
+        }
+        rebuildIndexes(loadedBookings);
+
+        // Replay only the changes recorded after the snapshot
+        try {
+            int replayed = journal.replay(snapshotSequence, roomsByNumber::get, new BookingJournal.Handler() {
+                public void created(Booking booking) {
+                    int row = bookings.add(booking);
+                    if (row >= 0 && booking.getStatus() != BookingStatus.CANCELLED) {
+                        occupy(row);
+                    }
+                }
+
+                public void statusChanged(String bookingId, BookingStatus status) {
+                    int row = bookings.indexOf(bookingId);
+                    if (row >= 0) {
+                        bookings.setStatus(row, status);
+                        if (status == BookingStatus.CANCELLED) {
+                            release(row);
+                        }
+                    }
+                }
+
+                public void roomAdded(Room room) {
+                    indexRoom(room);
+                }
+            });
+            eventsSinceSnapshot.set(replayed);
+        } catch (Exception e) {
+            System.err.println("Error replaying booking journal: " + e.getMessage());
+        }
+
+        try {
+            archive.open();
+            stats.archivedRevenueChanged(archive.getRevenueCents());
+        } catch (IOException e) {
+            System.err.println("Error opening booking archive: " + e.getMessage());
+        }
+
+        // New IDs must sort after, and never repeat, the ones already issued
+        for (int row = 0; row < bookings.size(); row++) {
+            BookingIdGenerator.getDefault().observe(bookings.getId(row));
+        }
+
+        // Carry data from the old .dat files and older snapshot formats over
+        if (snapshot == null ? !rooms.isEmpty() : snapshot.getVersion() < SnapshotStore.VERSION) {
+            saveSnapshot();
+        } else if (eventsSinceSnapshot.get() >= snapshotInterval) {
+            saveSnapshot();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Booking> loadLegacyData() {
+        // Load rooms
+        try (ObjectInputStream ois = new LegacyObjectInputStream(new FileInputStream(new File(dataDir, ROOMS_FILE)))) {
+            rooms = (List<Room>) ois.readObject();
+        } catch (FileNotFoundException e) {
+            // File doesn't exist yet, will be created
+        } catch (Exception e) {
+            System.err.println("Error loading rooms: " + e.getMessage());
+        }
+
+        // Load bookings
+        try (ObjectInputStream ois = new LegacyObjectInputStream(new FileInputStream(new File(dataDir, BOOKINGS_FILE)))) {
+            return (List<Booking>) ois.readObject();
+        } catch (FileNotFoundException e) {
+            // File doesn't exist yet, will be created
+        } catch (Exception e) {
+            System.err.println("Error loading bookings: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    // Version 2 snapshots are read straight into the booking store; older
+    // ones return their bookings for rebuildIndexes to add
+    @SuppressWarnings("unchecked")
+    private List<Booking> readSnapshot(SnapshotStore.Snapshot snapshot) throws IOException, ClassNotFoundException {
+        if (snapshot.getVersion() >= 2) {
+            rooms = HotelDataFormat.read(snapshot.getPayload(), bookings);
+            return new ArrayList<>();
+        }
+
+        // Version 1 snapshots hold Java-serialized lists
+        java.nio.ByteBuffer payload = snapshot.getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        try (ObjectInputStream ois = new LegacyObjectInputStream(new ByteArrayInputStream(bytes))) {
+            rooms = (List<Room>) ois.readObject();
+            return (List<Booking>) ois.readObject();
+        }
+    }
+
+    private interface JournalRecord {
+        BookingJournal.Record encode() throws IOException;
+    }
+
+    // Returns the record of a change about to be made, or null if it cannot
+    // be encoded, in which case the change must not be made
+    private static BookingJournal.Record encode(JournalRecord record) {
+        try {
+            return record.encode();
+        } catch (Exception e) {
+            System.err.println("Error encoding booking journal record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Hands an encoded change to the journal writer, in the order the changes
+    // were made, and returns its ticket
+    private long appendToJournal(BookingJournal.Record record) {
+        long ticket = journalWriter.submit(record);
+        eventsSinceSnapshot.incrementAndGet();
+        return ticket;
+    }
+
+    /**
+     * Called after the locks of a mutation are released. The change has been
+     * made either way; if its record could not be written the writer keeps
+     * retrying it, and the caller is told the change is not yet durable.
+     */
+    private void awaitJournal(long ticket) {
+        try {
+            journalWriter.await(ticket, durability);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking journal write failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Runs at startup and after every lifecycle sweep
+    private void archiveIfDue() {
+        if (archiveAfterDays >= 0 && lastArchiveDay != Days.today()) {
+            lastArchiveDay = Days.today();
+            archivePastBookings();
+        }
+    }
+
+    /**
+     * Moves bookings whose stay ended more than -Dhotel.archiveAfterDays ago
+     * (default 30; negative turns archiving off) from memory to the archive,
+     * then snapshots so the working set on disk shrinks too. Stays the sweeper
+     * has not reached yet are settled first, as it would: unpaid holds are
+     * cancelled and paid stays completed, each change journaled. The archive
+     * is written and synced before anything is dropped; a crash in between
+     * only means the same bookings are archived again, which the archive skips.
+     * Returns how many bookings were archived.
+     */
+    public int archivePastBookings() {
+        int cutoff = Days.today() - Math.max(0, archiveAfterDays);
+        stateLock.writeLock().lock();
+        try {
+            List<Integer> past = new ArrayList<>();
+            for (int row = 0; row < bookings.size(); row++) {
+                if (bookings.getCheckOutDay(row) <= cutoff) {
+                    past.add(row);
+                }
+            }
+            if (past.isEmpty()) {
+                return 0;
+            }
+            List<Booking> archived = new ArrayList<>(past.size());
+            for (int row : past) {
+                BookingStatus status = bookings.getStatus(row);
+                if (status == BookingStatus.PENDING && cancel(row) < 0
+                        || status == BookingStatus.CONFIRMED && complete(row) < 0) {
+                    return 0;
+                }
+                archived.add(view(row));
+            }
+            journalWriter.flush();
+            long archivedBefore = archive.getRevenueCents();
+            archive.append(archived);
+            stats.archivedRevenueChanged(archive.getRevenueCents() - archivedBefore);
+            bookings.removeRows(row -> bookings.getCheckOutDay(row) <= cutoff);
+            for (int i = 0; i < schedules.size(); i++) {
+                schedules.set(i, new RoomSchedule());
+            }
+            for (int row = 0; row < bookings.size(); row++) {
+                if (bookings.getStatus(row) != BookingStatus.CANCELLED) {
+                    schedules.get(bookings.getRoomId(row)).add(row, bookings.getCheckInDay(row),
+                            bookings.getCheckOutDay(row));
+                }
+            }
+            searchCache.clear();
+            saveSnapshot();
+            return archived.size();
+        } catch (IOException e) {
+            System.err.println("Error archiving bookings: " + e.getMessage());
+            return 0;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    // Runs on the journal writer after each batch it appends
+    private void snapshotIfDue() {
+        if (eventsSinceSnapshot.get() >= snapshotInterval && snapshotRunning.compareAndSet(false, true)) {
+            try {
+                saveSnapshot();
+            } finally {
+                snapshotRunning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the current state as a snapshot covering every journal record so
+     * far, then drops journal segments that no retained snapshot needs.
+     */
+    public void saveSnapshot() {
+        long started = System.nanoTime();
+        boolean failed = true;
+        stateLock.writeLock().lock();
+        try {
+            journalWriter.flush();
+            long sequence = journal.lastSequence();
+            HotelEvents.Persistence event = new HotelEvents.Persistence();
+            event.begin();
+            long bytes = snapshots.write(sequence, channel -> HotelDataFormat.write(rooms, bookings, channel));
+            metrics.recordBytes(HotelMetrics.Operation.SAVE_SNAPSHOT, bytes);
+            if (event.shouldCommit()) {
+                event.kind = "snapshot";
+                event.records = bookings.size();
+                event.bytes = bytes;
+                event.commit();
+            }
+            journal.rotate();
+            eventsSinceSnapshot.set(0);
+            journal.deleteSegmentsThrough(snapshots.prune(SNAPSHOTS_KEPT));
+            failed = false;
+        } catch (Exception e) {
+            System.err.println("Error saving snapshot: " + e.getMessage());
+        } finally {
+            stateLock.writeLock().unlock();
+            metrics.record(HotelMetrics.Operation.SAVE_SNAPSHOT, started, failed);
+        }
+    }
+
+    public HotelMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void close() {
+        metrics.unregisterMBeans();
+        sweeper.stop();
+        journalWriter.close();
+        try {
+            journal.close();
+        } catch (Exception e) {
+            System.err.println("Error closing booking journal: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.codealpha.hotel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard figures kept current as rooms and bookings change, so reading
+ * them is O(1) however large the hotel grows. Rooms report their own
+ * changes once they are tracked, and the BookingStore reports every booking
+ * status change; revenue is held in cents so repeated updates do not drift.
+ */
+class HotelStats {
+    private final AtomicInteger availableRooms = new AtomicInteger();
+    private final AtomicLong revenueCents = new AtomicLong();
+
+    void roomTracked(Room room) {
+        if (room.isAvailable()) {
+            availableRooms.incrementAndGet();
+        }
+    }
+
+    void availabilityChanged(boolean available) {
+        availableRooms.addAndGet(available ? 1 : -1);
+    }
+
+    // A booking entering the figures has no previous status, one leaving them no current status
+    void statusChanged(long cents, BookingStatus previous, BookingStatus current) {
+        if (earnsRevenue(previous)) {
+            revenueCents.addAndGet(-cents);
+        }
+        if (earnsRevenue(current)) {
+            revenueCents.addAndGet(cents);
+        }
+    }
+
+    // Revenue of bookings held in the archive rather than the store
+    void archivedRevenueChanged(long cents) {
+        revenueCents.addAndGet(cents);
+    }
+
+    static boolean earnsRevenue(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    public int getAvailableRooms() {
+        return availableRooms.get();
+    }
+
+    public double getTotalRevenue() {
+        return HotelDataFormat.fromCents(revenueCents.get());
+    }
+}
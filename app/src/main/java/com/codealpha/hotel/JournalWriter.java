@@ -0,0 +1,252 @@
+package com.codealpha.hotel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends journal records on a dedicated thread, so a slow disk never stalls
+ * a caller that holds a room lock or runs on the event dispatch thread.
+ * Records are submitted in the order the changes were made. Each pass of the
+ * thread takes everything queued since the last one and appends it with one
+ * write and at most one fsync, so a burst of changes is coalesced.
+ *
+ * Every submitted record gets a ticket, and {@link #await} blocks until that
+ * ticket has reached a given {@link Durability}. After each pass the thread
+ * runs the owner's follow-up work, such as taking a snapshot that is due.
+ * A shutdown hook writes and syncs whatever is still queued on a normal exit.
+ *
+ * A batch that fails to append or sync stays queued, ahead of anything
+ * submitted since, and is retried after a pause. Waiters on its tickets are
+ * told of the failure instead of being released as if it had succeeded.
+ */
+class JournalWriter {
+    private static final long IDLE_WAIT_MILLIS = 100;
+    private static final long RETRY_WAIT_MILLIS = 1_000;
+
+    private final BookingJournal journal;
+    private final HotelMetrics metrics;
+    private final Runnable afterWrite;
+    private final Thread thread;
+    private final Thread shutdownHook;
+    // Held while a batch is appended, so batches reach the journal in order
+    private final Object appendLock = new Object();
+
+    // Guarded by this
+    private List<BookingJournal.Record> queue = new ArrayList<>();
+    private long submitted;
+    private long written;
+    private long synced;
+    private long syncRequested;
+    private boolean closed;
+    // The last failed write or sync, and the highest ticket it left unwritten or unsynced
+    private IOException failure;
+    private long failedThrough;
+
+    JournalWriter(BookingJournal journal, HotelMetrics metrics, Runnable afterWrite) {
+        this.journal = journal;
+        this.metrics = metrics;
+        this.afterWrite = afterWrite;
+        thread = new Thread(this::run, "journal-writer");
+        thread.setDaemon(true);
+        shutdownHook = new Thread(this::close, "journal-flush");
+    }
+
+    public void start() {
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // Queues a record and returns its ticket
+    public synchronized long submit(BookingJournal.Record record) {
+        queue.add(record);
+        if (queue.size() == 1) {
+            notifyAll();
+        }
+        return ++submitted;
+    }
+
+    /**
+     * Blocks until the ticket has reached the durability, or throws if the
+     * write or sync it is waiting for has failed. A failed record is still
+     * retried. A queued ticket returns at once unless the journal is
+     * currently failing.
+     */
+    public void await(long ticket, Durability durability) throws IOException {
+        if (durability == Durability.QUEUED) {
+            synchronized (this) {
+                if (failure != null && written < ticket) {
+                    throw failure;
+                }
+            }
+            return;
+        }
+        boolean inline;
+        synchronized (this) {
+            if (durability == Durability.SYNCED && syncRequested < ticket) {
+                syncRequested = ticket;
+                notifyAll();
+            }
+            inline = closed || Thread.currentThread() == thread;
+        }
+        if (inline) {
+            drain();
+        }
+        boolean interrupted = false;
+        try {
+            synchronized (this) {
+                while ((durability == Durability.SYNCED ? synced : written) < ticket) {
+                    if (failure != null && ticket <= failedThrough) {
+                        throw failure;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Appends every record submitted so far before returning
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Writes and syncs everything still queued and lets the thread finish.
+     * Records submitted afterwards are written by the caller that awaits them.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            syncRequested = submitted;
+            notifyAll();
+        }
+        drain();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down
+        }
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                if (failure != null) {
+                    // After close the failed records are left to a caller that awaits them
+                    if (closed) {
+                        return;
+                    }
+                    try {
+                        wait(RETRY_WAIT_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                } else if (queue.isEmpty() && syncRequested <= synced) {
+                    if (closed) {
+                        return;
+                    }
+                    try {
+                        wait(IDLE_WAIT_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            if (drain()) {
+                afterWrite.run();
+            } else {
+                syncIfDue();
+            }
+        }
+    }
+
+    // Appends the queued records as one batch; returns false if there was nothing to do or it failed
+    private boolean drain() {
+        synchronized (appendLock) {
+            List<BookingJournal.Record> batch;
+            long last;
+            boolean force;
+            synchronized (this) {
+                force = syncRequested > synced;
+                if (queue.isEmpty() && !force) {
+                    return false;
+                }
+                batch = queue;
+                queue = new ArrayList<>();
+                last = submitted;
+            }
+            boolean durable = true;
+            long started = System.nanoTime();
+            HotelEvents.Persistence event = new HotelEvents.Persistence();
+            event.begin();
+            try {
+                if (batch.isEmpty()) {
+                    journal.sync();
+                } else {
+                    durable = journal.append(batch, force);
+                    long bytes = 0;
+                    for (BookingJournal.Record record : batch) {
+                        bytes += record.framedSize();
+                    }
+                    metrics.recordBytes(HotelMetrics.Operation.JOURNAL_WRITE, bytes);
+                    if (event.shouldCommit()) {
+                        event.kind = "journal";
+                        event.records = batch.size();
+                        event.bytes = bytes;
+                        event.commit();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing booking journal: " + e.getMessage());
+                metrics.record(HotelMetrics.Operation.JOURNAL_WRITE, started, true);
+                synchronized (this) {
+                    batch.addAll(queue);
+                    queue = batch;
+                    failure = e;
+                    failedThrough = last;
+                    notifyAll();
+                }
+                return false;
+            }
+            metrics.record(HotelMetrics.Operation.JOURNAL_WRITE, started, false);
+            synchronized (this) {
+                written = last;
+                if (durable) {
+                    synced = last;
+                }
+                failure = null;
+                notifyAll();
+            }
+            return true;
+        }
+    }
+
+    private void syncIfDue() {
+        synchronized (appendLock) {
+            try {
+                if (journal.syncIfDue()) {
+                    synchronized (this) {
+                        synced = written;
+                        failure = null;
+                        notifyAll();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error syncing booking journal: " + e.getMessage());
+                synchronized (this) {
+                    failure = e;
+                    failedThrough = written;
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
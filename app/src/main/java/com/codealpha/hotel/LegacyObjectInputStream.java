@@ -0,0 +1,30 @@
+package com.codealpha.hotel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * Reads files written before the classes moved into this package. Their
+ * streams name Room, Booking and the enums without a package.
+ */
+class LegacyObjectInputStream extends ObjectInputStream {
+    LegacyObjectInputStream(InputStream in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        String name = desc.getName();
+        if (name.indexOf('.') < 0 && !name.startsWith("[")) {
+            try {
+                return Class.forName(getClass().getPackage().getName() + "." + name, false,
+                        getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                // not one of ours, fall through
+            }
+        }
+        return super.resolveClass(desc);
+    }
+}
@@ -0,0 +1,131 @@
+package com.codealpha.hotel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves bookings along their lifecycle in the background. A PENDING hold
+ * that is not paid within -Dhotel.holdTtlMinutes (default 15) is cancelled,
+ * which frees its nights again; a CONFIRMED stay is marked COMPLETED once
+ * its check-out time has passed. Deadlines wait in two hashed timer wheels,
+ * a fine one for holds and a coarse one for check-outs, and expired ones are
+ * applied in batches. Every expiry is checked against the booking's current
+ * status, so timers of bookings confirmed, cancelled or archived in the
+ * meantime lapse without effect.
+ */
+class LifecycleSweeper {
+    private static final long HOLD_TICK_MILLIS = 1000;
+    private static final long STAY_TICK_MILLIS = 60_000;
+    private static final long CHECK_OUT_HOUR_MILLIS = TimeUnit.HOURS.toMillis(12);
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * What the sweeper does to bookings; each call takes a batch of IDs and
+     * returns how many of them were changed.
+     */
+    interface Actions {
+        int expireHolds(List<String> bookingIds);
+
+        int completeStays(List<String> bookingIds);
+
+        // Called after every sweep for other periodic work
+        void swept();
+    }
+
+    private final Actions actions;
+    private final boolean enabled;
+    private final long holdTtlMillis;
+    private final TimerWheel<String> holds;
+    private final TimerWheel<String> stays;
+    private final Thread thread;
+    private volatile boolean stopped;
+    private volatile long expiredHolds;
+    private volatile long completedStays;
+
+    LifecycleSweeper(Actions actions, boolean enabled, long holdTtlMillis) {
+        this.actions = actions;
+        this.enabled = enabled;
+        this.holdTtlMillis = holdTtlMillis;
+        long now = System.currentTimeMillis();
+        holds = new TimerWheel<>(HOLD_TICK_MILLIS, 4096, now);
+        stays = new TimerWheel<>(STAY_TICK_MILLIS, 1024, now);
+        thread = new Thread(this::run, "lifecycle-sweeper");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        if (enabled) {
+            thread.start();
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // A hold placed at bookedAtMillis; holds never expire when the TTL is not positive
+    public void holdPlaced(String bookingId, long bookedAtMillis) {
+        if (enabled && holdTtlMillis > 0) {
+            holds.schedule(bookedAtMillis + holdTtlMillis, bookingId);
+        }
+    }
+
+    public void stayConfirmed(String bookingId, int checkOutDay) {
+        if (enabled) {
+            stays.schedule(Days.toDate(checkOutDay).getTime() + CHECK_OUT_HOUR_MILLIS, bookingId);
+        }
+    }
+
+    public void clear() {
+        holds.clear();
+        stays.clear();
+    }
+
+    public int getPendingTimers() {
+        return holds.size() + stays.size();
+    }
+
+    public long getExpiredHolds() {
+        return expiredHolds;
+    }
+
+    public long getCompletedStays() {
+        return completedStays;
+    }
+
+    private void run() {
+        while (!stopped) {
+            try {
+                sweep(System.currentTimeMillis());
+                Thread.sleep(HOLD_TICK_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Error sweeping bookings: " + e.getMessage());
+            }
+        }
+    }
+
+    // Applies every deadline that has passed by nowMillis
+    void sweep(long nowMillis) {
+        List<String> expired = holds.advance(nowMillis);
+        for (int from = 0; from < expired.size(); from += BATCH_SIZE) {
+            expiredHolds += actions.expireHolds(expired.subList(from, Math.min(expired.size(), from + BATCH_SIZE)));
+        }
+        List<String> ended = stays.advance(nowMillis);
+        for (int from = 0; from < ended.size(); from += BATCH_SIZE) {
+            completedStays += actions.completeStays(ended.subList(from, Math.min(ended.size(), from + BATCH_SIZE)));
+        }
+        actions.swept();
+    }
+}
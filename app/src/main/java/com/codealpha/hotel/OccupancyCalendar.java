@@ -0,0 +1,249 @@
+package com.codealpha.hotel;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy calendar over a rolling horizon of days starting at a base day.
+ * For every day it keeps a bitset of occupied room IDs, and for every
+ * category and guest count a bitset of matching rooms. A search is then a
+ * few word-wide AND / AND-NOT passes, one per requested night, instead of a
+ * check per room.
+ *
+ * It also keeps per-category counts of free rooms for every day, so the
+ * availability of a category over a stay is a range-minimum query. Rooms
+ * marked unavailable are not counted as free.
+ *
+ * Day bitsets are atomic words, so stays in different rooms can be marked
+ * concurrently. Adding rooms must not run concurrently with marking, and
+ * marks and availability changes for one room must not run concurrently.
+ */
+class OccupancyCalendar {
+    static final int HORIZON_DAYS = 730;
+
+    private final int baseDay;
+    private volatile AtomicLongArray[] occupiedByDay = new AtomicLongArray[HORIZON_DAYS];
+    private volatile long[][] roomsByCategory = new long[RoomCategory.values().length][0];
+    private volatile long[][] roomsByGuests = new long[1][0]; // index 0 is unused
+    private volatile RoomCategory[] roomCategories = new RoomCategory[0];
+    private volatile boolean[] countedFree = new boolean[0];
+    private final FreeRoomCounts freeCounts = new FreeRoomCounts(HORIZON_DAYS);
+    private int words;
+
+    public OccupancyCalendar(int baseDay) {
+        this.baseDay = baseDay;
+        grow(1);
+    }
+
+    /**
+     * A calendar holding the given rooms, whose IDs must be their positions
+     * in the list. The masks are sized once for all of them, where adding
+     * them one by one would copy every mask per room.
+     */
+    public OccupancyCalendar(int baseDay, List<Room> rooms) {
+        this.baseDay = baseDay;
+        grow(Math.max(1, (rooms.size() + 63) >> 6));
+        int maxGuests = 0;
+        for (Room room : rooms) {
+            maxGuests = Math.max(maxGuests, room.getMaxCapacity());
+        }
+        long[][] byCategory = new long[RoomCategory.values().length][words];
+        long[][] byGuests = new long[maxGuests + 1][words];
+        RoomCategory[] categories = new RoomCategory[rooms.size()];
+        boolean[] counted = new boolean[rooms.size()];
+        int[] freeByCategory = new int[byCategory.length];
+        for (Room room : rooms) {
+            int id = room.getId();
+            long bit = 1L << id;
+            byCategory[room.getCategory().ordinal()][id >> 6] |= bit;
+            for (int guests = 1; guests <= room.getMaxCapacity(); guests++) {
+                byGuests[guests][id >> 6] |= bit;
+            }
+            categories[id] = room.getCategory();
+            if (room.isAvailable()) {
+                counted[id] = true;
+                freeByCategory[room.getCategory().ordinal()]++;
+            }
+        }
+        roomsByCategory = byCategory;
+        roomsByGuests = byGuests;
+        roomCategories = categories;
+        countedFree = counted;
+        // Nothing is occupied yet, so every available room is free on every day
+        RoomCategory[] all = RoomCategory.values();
+        for (int category = 0; category < all.length; category++) {
+            if (freeByCategory[category] > 0) {
+                freeCounts.add(all[category], 0, HORIZON_DAYS, freeByCategory[category]);
+            }
+        }
+    }
+
+    public int getBaseDay() {
+        return baseDay;
+    }
+
+    public boolean covers(int checkInDay, int checkOutDay) {
+        return checkInDay >= baseDay && checkOutDay <= baseDay + HORIZON_DAYS;
+    }
+
+    // Copies the masks, so the calendar can be searched while a room is added
+    public void addRoom(Room room) {
+        int id = room.getId();
+        if ((id >> 6) >= words) {
+            grow(Math.max(words * 2, (id >> 6) + 1));
+        }
+        long bit = 1L << id;
+
+        long[][] byCategory = roomsByCategory.clone();
+        int category = room.getCategory().ordinal();
+        byCategory[category] = Arrays.copyOf(byCategory[category], words);
+        byCategory[category][id >> 6] |= bit;
+
+        long[][] byGuests = Arrays.copyOf(roomsByGuests, Math.max(roomsByGuests.length, room.getMaxCapacity() + 1));
+        for (int guests = 1; guests < byGuests.length; guests++) {
+            long[] mask = byGuests[guests] == null ? new long[words] : Arrays.copyOf(byGuests[guests], words);
+            if (guests <= room.getMaxCapacity()) {
+                mask[id >> 6] |= bit;
+            }
+            byGuests[guests] = mask;
+        }
+
+        roomsByCategory = byCategory;
+        roomsByGuests = byGuests;
+
+        RoomCategory[] categories = Arrays.copyOf(roomCategories, Math.max(roomCategories.length, id + 1));
+        boolean[] counted = Arrays.copyOf(countedFree, categories.length);
+        categories[id] = room.getCategory();
+        roomCategories = categories;
+        countedFree = counted;
+        if (room.isAvailable()) {
+            setRoomAvailable(id, true);
+        }
+    }
+
+    /**
+     * Counts the room as free on the days it is not occupied, or withdraws
+     * it from the free counts.
+     */
+    public void setRoomAvailable(int roomId, boolean available) {
+        boolean[] counted = countedFree;
+        if (counted[roomId] == available) {
+            return;
+        }
+        counted[roomId] = available;
+        AtomicLongArray[] days = occupiedByDay;
+        long bit = 1L << roomId;
+        int runStart = -1;
+        for (int slot = 0; slot <= HORIZON_DAYS; slot++) {
+            boolean free = slot < HORIZON_DAYS && (days[slot].get(roomId >> 6) & bit) == 0;
+            if (free && runStart < 0) {
+                runStart = slot;
+            } else if (!free && runStart >= 0) {
+                freeCounts.add(roomCategories[roomId], runStart, slot, available ? 1 : -1);
+                runStart = -1;
+            }
+        }
+    }
+
+    private void grow(int newWords) {
+        AtomicLongArray[] grown = new AtomicLongArray[HORIZON_DAYS];
+        AtomicLongArray[] current = occupiedByDay;
+        for (int slot = 0; slot < HORIZON_DAYS; slot++) {
+            grown[slot] = new AtomicLongArray(newWords);
+            if (current[slot] != null) {
+                for (int w = 0; w < current[slot].length(); w++) {
+                    grown[slot].set(w, current[slot].get(w));
+                }
+            }
+        }
+        words = newWords;
+        occupiedByDay = grown;
+    }
+
+    public void occupy(int roomId, int checkInDay, int checkOutDay) {
+        mark(roomId, checkInDay, checkOutDay, true);
+    }
+
+    public void release(int roomId, int checkInDay, int checkOutDay) {
+        mark(roomId, checkInDay, checkOutDay, false);
+    }
+
+    public void clearOccupancy() {
+        for (AtomicLongArray day : occupiedByDay) {
+            for (int w = 0; w < day.length(); w++) {
+                day.set(w, 0);
+            }
+        }
+        freeCounts.clear();
+        boolean[] counted = countedFree;
+        for (int id = 0; id < counted.length; id++) {
+            if (counted[id]) {
+                freeCounts.add(roomCategories[id], 0, HORIZON_DAYS, 1);
+            }
+        }
+    }
+
+    private void mark(int id, int checkInDay, int checkOutDay, boolean occupied) {
+        int from = Math.max(checkInDay, baseDay);
+        int to = Math.min(checkOutDay, baseDay + HORIZON_DAYS);
+        long bit = 1L << id;
+        AtomicLongArray[] days = occupiedByDay;
+        for (int day = from; day < to; day++) {
+            AtomicLongArray words = days[day - baseDay];
+            if (occupied) {
+                words.getAndAccumulate(id >> 6, bit, (current, mask) -> current | mask);
+            } else {
+                words.getAndAccumulate(id >> 6, bit, (current, mask) -> current & ~mask);
+            }
+        }
+        if (countedFree[id]) {
+            freeCounts.add(roomCategories[id], from - baseDay, to - baseDay, occupied ? -1 : 1);
+        }
+    }
+
+    /**
+     * Returns the fewest rooms of the category (null for any) that are free
+     * on a night of [checkInDay, checkOutDay), ignoring guest counts. Zero
+     * means the category is sold out on at least one of those nights. The
+     * range must be non-empty and {@link #covers covered} by the horizon.
+     */
+    public int freeRoomCount(RoomCategory category, int checkInDay, int checkOutDay) {
+        return freeCounts.min(category, checkInDay - baseDay, checkOutDay - baseDay);
+    }
+
+    /**
+     * Returns the IDs of rooms matching the category (null for any) and guest
+     * count that are free on every night of [checkInDay, checkOutDay). The
+     * range must be {@link #covers covered} by the horizon.
+     */
+    public BitSet freeRooms(RoomCategory category, int guests, int checkInDay, int checkOutDay) {
+        long[][] byGuests = roomsByGuests;
+        int minGuests = Math.max(guests, 1);
+        if (minGuests >= byGuests.length) {
+            return new BitSet();
+        }
+        long[] free = byGuests[minGuests].clone();
+        if (category != null) {
+            long[] inCategory = roomsByCategory[category.ordinal()];
+            for (int w = 0; w < free.length; w++) {
+                free[w] &= w < inCategory.length ? inCategory[w] : 0;
+            }
+        }
+
+        AtomicLongArray[] days = occupiedByDay;
+        for (int day = checkInDay; day < checkOutDay; day++) {
+            AtomicLongArray occupied = days[day - baseDay];
+            long any = 0;
+            for (int w = 0; w < free.length && w < occupied.length(); w++) {
+                free[w] &= ~occupied.get(w);
+                any |= free[w];
+            }
+            if (any == 0) {
+                break;
+            }
+        }
+        return BitSet.valueOf(free);
+    }
+}
@@ -0,0 +1,110 @@
+package com.codealpha.hotel;
+
+import java.util.Arrays;
+
+/**
+ * Interval index of the non-cancelled stays of one room, kept as parallel
+ * primitive arrays sorted by check-in day and pointing at BookingStore rows.
+ * Stays in a room never overlap, so the only stay that can conflict with a
+ * requested range is the closest one starting before its check-out day.
+ * The schedule is also the lock for its room.
+ */
+class RoomSchedule {
+    private int[] checkInDays = new int[4];
+    private int[] checkOutDays = new int[4];
+    private int[] rows = new int[4];
+    private int size;
+
+    /**
+     * Receives the stays of a room in check-in order.
+     */
+    interface StayVisitor {
+        void visit(int checkInDay, int checkOutDay, int row);
+    }
+
+    public synchronized boolean isFree(int checkInDay, int checkOutDay) {
+        int before = lastStartingBefore(checkOutDay);
+        return before < 0 || checkOutDays[before] <= checkInDay;
+    }
+
+    public synchronized void forEachStayOverlapping(int fromDay, int toDay, StayVisitor visitor) {
+        int first = lastStartingBefore(fromDay);
+        if (first < 0 || checkOutDays[first] <= fromDay) {
+            first++;
+        }
+        for (int i = first; i < size && checkInDays[i] < toDay; i++) {
+            visitor.visit(checkInDays[i], checkOutDays[i], rows[i]);
+        }
+    }
+
+    public synchronized void add(int row, int checkInDay, int checkOutDay) {
+        if (size == rows.length) {
+            checkInDays = Arrays.copyOf(checkInDays, size * 2);
+            checkOutDays = Arrays.copyOf(checkOutDays, size * 2);
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        int at = lastStartingBefore(checkInDay) + 1;
+        System.arraycopy(checkInDays, at, checkInDays, at + 1, size - at);
+        System.arraycopy(checkOutDays, at, checkOutDays, at + 1, size - at);
+        System.arraycopy(rows, at, rows, at + 1, size - at);
+        checkInDays[at] = checkInDay;
+        checkOutDays[at] = checkOutDay;
+        rows[at] = row;
+        size++;
+    }
+
+    // Removes the stay of the given row; false if it was not in the schedule
+    public synchronized boolean remove(int row, int checkInDay) {
+        int at = lastStartingBefore(checkInDay + 1);
+        if (at < 0 || checkInDays[at] != checkInDay || rows[at] != row) {
+            return false;
+        }
+        System.arraycopy(checkInDays, at + 1, checkInDays, at, size - at - 1);
+        System.arraycopy(checkOutDays, at + 1, checkOutDays, at, size - at - 1);
+        System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the earliest day on or after fromDay on which a stay of the
+     * given length is free. The gaps between stays are scanned in order, so
+     * the cost grows with the number of gaps too short for the stay, not
+     * with the number of days.
+     */
+    public synchronized int nextFreeStart(int fromDay, int nights) {
+        int start = fromDay;
+        int blocking = lastStartingBefore(start + nights);
+        while (blocking >= 0 && checkOutDays[blocking] > start) {
+            // Stays never overlap, so the last stay starting in the way ends last
+            start = checkOutDays[blocking];
+            blocking = lastStartingBefore(start + nights);
+        }
+        return start;
+    }
+
+    // Check-out day of the first stay checking in on or after the day, or -1
+    public synchronized int nextStayEnd(int day) {
+        int next = lastStartingBefore(day) + 1;
+        return next < size ? checkOutDays[next] : -1;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Index of the last stay checking in before the given day, or -1
+    private int lastStartingBefore(int day) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkInDays[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,106 @@
+package com.codealpha.hotel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Rooms tab rows, read straight from either the hotel's room list or the
+ * latest search results. Cells are built only when the table paints them.
+ */
+class RoomTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = { "Room #", "Category", "Price/Night", "Capacity", "Amenities",
+            "Status" };
+
+    private final HotelManager hotelManager;
+    private List<Room> rooms = Collections.emptyList();
+    private boolean searchResults;
+    private int rowCount;
+
+    RoomTableModel(HotelManager hotelManager) {
+        this.hotelManager = hotelManager;
+    }
+
+    // Lists every room; when already doing so only the new rooms are announced
+    public void showAllRooms() {
+        if (searchResults || rooms.isEmpty()) {
+            show(hotelManager.getAllRooms(), false);
+            return;
+        }
+        int previous = rowCount;
+        rowCount = rooms.size();
+        if (rowCount > previous) {
+            fireTableRowsInserted(previous, rowCount - 1);
+        }
+    }
+
+    // Starts an empty result list that a running search fills in batches
+    public void startSearchResults() {
+        show(new ArrayList<>(), true);
+    }
+
+    public void addSearchResults(List<Room> batch) {
+        if (!searchResults || batch.isEmpty()) {
+            return;
+        }
+        int first = rowCount;
+        rooms.addAll(batch);
+        rowCount = rooms.size();
+        fireTableRowsInserted(first, rowCount - 1);
+    }
+
+    private void show(List<Room> rooms, boolean searchResults) {
+        this.rooms = rooms;
+        this.searchResults = searchResults;
+        rowCount = rooms.size();
+        fireTableDataChanged();
+    }
+
+    public void roomChanged(Room room) {
+        int row = searchResults ? rooms.indexOf(room) : room.getId();
+        if (row >= 0 && row < rowCount) {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    public Room getRoom(int row) {
+        return rooms.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Room room = rooms.get(row);
+        switch (column) {
+            case 0:
+                return room.getRoomNumber();
+            case 1:
+                return room.getCategory();
+            case 2:
+                return "$" + room.getPricePerNight();
+            case 3:
+                return room.getMaxCapacity() + " guests";
+            case 4:
+                return room.getAmenities();
+            default:
+                return searchResults || room.isAvailable() ? "Available" : "Booked";
+        }
+    }
+}
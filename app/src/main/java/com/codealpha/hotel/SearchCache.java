@@ -0,0 +1,153 @@
+package com.codealpha.hotel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of room search results, keyed on the query with its
+ * dates reduced to epoch days.
+ *
+ * A change to the hotel removes only the entries it can affect: those whose
+ * category matches the room, whose guest count the room can host and whose
+ * stay overlaps the changed days. Every invalidation also bumps a version,
+ * and a result computed before it is not cached, so a search racing a
+ * booking never stores a stale answer.
+ */
+class SearchCache {
+    /**
+     * A normalized search; a null category matches every category.
+     */
+    static final class Query {
+        private final RoomCategory category;
+        private final int guests;
+        private final int checkInDay;
+        private final int checkOutDay;
+
+        Query(RoomCategory category, int guests, int checkInDay, int checkOutDay) {
+            this.category = category;
+            this.guests = guests;
+            this.checkInDay = checkInDay;
+            this.checkOutDay = checkOutDay;
+        }
+
+        boolean isAffectedBy(RoomCategory roomCategory, int roomCapacity, int fromDay, int toDay) {
+            return (category == null || category == roomCategory) && guests <= roomCapacity
+                    && checkInDay < toDay && fromDay < checkOutDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Query)) {
+                return false;
+            }
+            Query query = (Query) other;
+            return category == query.category && guests == query.guests && checkInDay == query.checkInDay
+                    && checkOutDay == query.checkOutDay;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, guests, checkInDay, checkOutDay);
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Query, List<Room>> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    SearchCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Query, List<Room>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Query, List<Room>> eldest) {
+                if (size() > SearchCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized List<Room> get(Query query) {
+        List<Room> rooms = entries.get(query);
+        if (rooms == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return rooms;
+    }
+
+    // Read before computing a result and handed back to put
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized void put(Query query, List<Room> rooms, long computedAt) {
+        if (capacity > 0 && computedAt == version) {
+            entries.put(query, Collections.unmodifiableList(new ArrayList<>(rooms)));
+        }
+    }
+
+    // Drops the results a change to a room over [fromDay, toDay) can affect
+    public synchronized void invalidate(Room room, int fromDay, int toDay) {
+        version++;
+        Iterator<Query> queries = entries.keySet().iterator();
+        while (queries.hasNext()) {
+            if (queries.next().isAffectedBy(room.getCategory(), room.getMaxCapacity(), fromDay, toDay)) {
+                queries.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    // Drops the results a change to a room on any day can affect
+    public void invalidate(Room room) {
+        invalidate(room, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public synchronized void clear() {
+        version++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : hits / (double) lookups;
+    }
+}
@@ -0,0 +1,226 @@
+package com.codealpha.hotel;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time snapshots of hotel state. Each snapshot is written to a
+ * temporary file, forced to disk and renamed into place, so a crash never
+ * leaves a half-written snapshot under a real name. The header records the
+ * journal sequence number the snapshot covers and a CRC32 of its contents:
+ * [int magic][int version][long sequence][int length][int crc32][payload]
+ * Version 1 payloads are Java-serialized lists; version 2 payloads use
+ * {@link HotelDataFormat}.
+ */
+class SnapshotStore {
+    static final int MAGIC = 0x48534E50; // "HSNP"
+    static final int VERSION = 2;
+
+    private static final String PREFIX = "hotel-";
+    private static final String SUFFIX = ".snapshot";
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    /**
+     * Streams a snapshot payload into the snapshot file.
+     */
+    interface PayloadWriter {
+        void write(WritableByteChannel channel) throws IOException;
+    }
+
+    /**
+     * A snapshot that passed validation. The payload is a read-only view of
+     * the memory-mapped file.
+     */
+    static class Snapshot {
+        private final long sequence;
+        private final int version;
+        private final ByteBuffer payload;
+
+        Snapshot(long sequence, int version, ByteBuffer payload) {
+            this.sequence = sequence;
+            this.version = version;
+            this.payload = payload;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public ByteBuffer getPayload() {
+            return payload.duplicate();
+        }
+    }
+
+    private final File directory;
+
+    public SnapshotStore(File directory) {
+        this.directory = directory;
+    }
+
+    // Returns the size of the snapshot file written
+    public long write(long sequence, PayloadWriter writer) throws IOException {
+        File target = fileFor(sequence);
+        File temp = new File(directory, target.getName() + ".tmp");
+        long size;
+
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            ChecksummedChannel body = new ChecksummedChannel(channel, sequence);
+            writer.write(body);
+            if (body.bytes > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot payload too large: " + body.bytes + " bytes");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt((int) body.bytes)
+                    .putInt((int) body.crc.getValue());
+            header.flip();
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+            size = channel.size();
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        return size;
+    }
+
+    /**
+     * Returns the newest snapshot whose header and checksum are intact, or
+     * null if there is none.
+     */
+    public Snapshot loadLatest() {
+        File[] files = snapshots();
+        for (int i = files.length - 1; i >= 0; i--) {
+            Snapshot snapshot = read(files[i]);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            System.err.println("Skipping invalid snapshot " + files[i].getName());
+        }
+        return null;
+    }
+
+    /**
+     * Deletes all but the newest {@code keep} snapshots and stale temporary
+     * files, and returns the sequence number of the oldest snapshot kept.
+     */
+    public long prune(int keep) {
+        File[] temps = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX + ".tmp"));
+        if (temps != null) {
+            for (File temp : temps) {
+                temp.delete();
+            }
+        }
+        File[] files = snapshots();
+        for (int i = 0; i < files.length - keep; i++) {
+            if (!files[i].delete()) {
+                System.err.println("Could not delete snapshot " + files[i].getName());
+            }
+        }
+        return files.length == 0 ? 0 : sequenceOf(files[Math.max(0, files.length - keep)]);
+    }
+
+    private Snapshot read(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            int magic = header.getInt();
+            int version = header.getInt();
+            long sequence = header.getLong();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (magic != MAGIC || version < 1 || version > VERSION || length < 0
+                    || channel.size() != HEADER_SIZE + (long) length) {
+                return null;
+            }
+            ByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length);
+            CRC32 checksum = new CRC32();
+            checksum.update(ByteBuffer.allocate(8).putLong(0, sequence));
+            checksum.update(body.duplicate());
+            if ((int) checksum.getValue() != crc) {
+                return null;
+            }
+            return new Snapshot(sequence, version, body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Passes writes through to the file while counting and checksumming them.
+     */
+    private static final class ChecksummedChannel implements WritableByteChannel {
+        private final FileChannel target;
+        private final CRC32 crc = new CRC32();
+        private long bytes;
+
+        ChecksummedChannel(FileChannel target, long sequence) {
+            this.target = target;
+            crc.update(ByteBuffer.allocate(8).putLong(0, sequence));
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer written = src.duplicate();
+            int count = target.write(src);
+            written.limit(written.position() + count);
+            crc.update(written);
+            bytes += count;
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return target.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the snapshot file is closed by SnapshotStore
+        }
+    }
+
+    private File fileFor(long sequence) {
+        return new File(directory, String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private File[] snapshots() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && sequenceOf(new File(dir, name)) >= 0);
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)));
+        return files;
+    }
+
+    private static long sequenceOf(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
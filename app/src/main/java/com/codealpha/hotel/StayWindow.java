@@ -0,0 +1,39 @@
+package com.codealpha.hotel;
+
+import java.util.Date;
+
+/**
+ * A free stay in one room: the half-open range of epoch days
+ * [check-in, check-out).
+ */
+class StayWindow {
+    private final Room room;
+    private final int checkInDay;
+    private final int checkOutDay;
+
+    StayWindow(Room room, int checkInDay, int checkOutDay) {
+        this.room = room;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    public int getCheckOutDay() {
+        return checkOutDay;
+    }
+
+    public Date getCheckInDate() {
+        return Days.toDate(checkInDay);
+    }
+
+    public Date getCheckOutDate() {
+        return Days.toDate(checkOutDay);
+    }
+}
@@ -0,0 +1,101 @@
+package com.codealpha.hotel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hashed timer wheel. Deadlines are hashed by tick into a fixed ring of
+ * buckets, so scheduling is O(1) and advancing by a tick looks at a single
+ * bucket. A deadline more than one revolution ahead simply stays in its
+ * bucket until its tick comes round. Buckets keep their ticks in a long
+ * array beside the items, so each pending timer costs a long and a
+ * reference. Timers cannot be cancelled; whoever handles an expired item
+ * decides whether it still applies.
+ */
+class TimerWheel<T> {
+    private final long tickMillis;
+    private final int mask;
+    private final long[][] ticks;
+    private final Object[][] items;
+    private final int[] sizes;
+    private long nextTick;
+    private int pending;
+
+    TimerWheel(long tickMillis, int buckets, long nowMillis) {
+        if (Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two: " + buckets);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.ticks = new long[buckets][];
+        this.items = new Object[buckets][];
+        this.sizes = new int[buckets];
+        this.nextTick = nowMillis / tickMillis;
+    }
+
+    // Deadlines already passed fire on the next advance
+    public synchronized void schedule(long deadlineMillis, T item) {
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, nextTick);
+        int bucket = (int) (tick & mask);
+        int size = sizes[bucket];
+        if (ticks[bucket] == null) {
+            ticks[bucket] = new long[4];
+            items[bucket] = new Object[4];
+        } else if (size == ticks[bucket].length) {
+            ticks[bucket] = Arrays.copyOf(ticks[bucket], size * 2);
+            items[bucket] = Arrays.copyOf(items[bucket], size * 2);
+        }
+        ticks[bucket][size] = tick;
+        items[bucket][size] = item;
+        sizes[bucket] = size + 1;
+        pending++;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the items whose
+     * deadlines have passed, oldest bucket first. After a pause longer than
+     * a revolution every bucket is visited once.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (nowTick < nextTick) {
+            return expired;
+        }
+        long steps = Math.min(nowTick - nextTick + 1, mask + 1);
+        for (long tick = nowTick - steps + 1; tick <= nowTick; tick++) {
+            int bucket = (int) (tick & mask);
+            long[] bucketTicks = ticks[bucket];
+            Object[] bucketItems = items[bucket];
+            int kept = 0;
+            for (int i = 0; i < sizes[bucket]; i++) {
+                if (bucketTicks[i] <= nowTick) {
+                    expired.add((T) bucketItems[i]);
+                } else {
+                    bucketTicks[kept] = bucketTicks[i];
+                    bucketItems[kept++] = bucketItems[i];
+                }
+            }
+            if (bucketItems != null) {
+                Arrays.fill(bucketItems, kept, sizes[bucket], null);
+            }
+            sizes[bucket] = kept;
+        }
+        pending -= expired.size();
+        nextTick = nowTick + 1;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return pending;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ticks, null);
+        Arrays.fill(items, null);
+        Arrays.fill(sizes, 0);
+        pending = 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingArchiveTest {
+    @TempDir
+    File dir;
+
+    private final Room standard = room("101", RoomCategory.STANDARD, 0);
+    private final Room suite = room("301", RoomCategory.SUITE, 1);
+    private final List<Room> rooms = List.of(standard, suite);
+
+    @Test
+    void reopenedArchiveCountsFromHeadersAndSkipsRepeats() throws IOException {
+        Booking first = booking(standard, BookingStatus.CONFIRMED);
+        Booking second = booking(suite, BookingStatus.CANCELLED);
+        Booking third = booking(standard, BookingStatus.COMPLETED);
+        BookingArchive archive = open();
+        assertEquals(3, archive.append(List.of(first, second, third)));
+        // A run repeated after a crash adds nothing twice
+        assertEquals(0, archive.append(List.of(second, third)));
+
+        BookingArchive reopened = open();
+        assertEquals(3, reopened.size());
+        assertEquals(HotelDataFormat.toCents(first.getTotalAmount() + third.getTotalAmount()),
+                reopened.getRevenueCents());
+        assertEquals(third.getBookingId(), reopened.get(0).getBookingId());
+        assertEquals(first.getBookingId(), reopened.get(2).getBookingId());
+        assertNull(reopened.get(3));
+
+        Booking found = reopened.find(second.getBookingId());
+        assertEquals(BookingStatus.CANCELLED, found.getStatus());
+        assertEquals(suite, found.getRoom());
+        assertEquals(second.getCheckOutDay(), found.getCheckOutDay());
+        assertEquals(second.getTotalAmount(), found.getTotalAmount());
+    }
+
+    @Test
+    void segmentThatFailedToLoadIsReadAgain() throws IOException {
+        Booking booking = booking(standard, BookingStatus.CONFIRMED);
+        open().append(List.of(booking));
+        BookingArchive archive = open();
+        File[] segments = dir.listFiles((parent, name) -> name.endsWith(".seg"));
+        File moved = new File(dir, "moved");
+        assertTrue(segments[0].renameTo(moved));
+
+        assertNull(archive.find(booking.getBookingId()));
+        assertTrue(moved.renameTo(segments[0]));
+        assertNotNull(archive.find(booking.getBookingId()));
+    }
+
+    @Test
+    void clearDeletesEverySegment() throws IOException {
+        BookingArchive archive = open();
+        archive.append(List.of(booking(suite, BookingStatus.CONFIRMED)));
+        assertEquals(HotelDataFormat.toCents(350.0 * 2), archive.clear());
+        assertEquals(0, open().size());
+    }
+
+    private BookingArchive open() throws IOException {
+        BookingArchive archive = new BookingArchive(dir,
+                number -> number.equals("101") ? standard : number.equals("301") ? suite : null, rooms::get, 2);
+        archive.open();
+        return archive;
+    }
+
+    private static Booking booking(Room room, BookingStatus status) {
+        Booking booking = new Booking(room, "Ada", "ada@example.com", "555-0100",
+                Days.toDate(Days.today() - 60), Days.toDate(Days.today() - 58), 2);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static Room room(String number, RoomCategory category, int id) {
+        Room room = new Room(number, category, category == RoomCategory.SUITE ? 350.0 : 100.0, 2);
+        room.setId(id);
+        return room;
+    }
+}
@@ -0,0 +1,85 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIdGeneratorTest {
+    @Test
+    void idsSortInIssueOrderPastTheSequenceLimit() {
+        BookingIdGenerator generator = new BookingIdGenerator(3);
+        String previous = generator.nextId();
+        // More IDs than fit in one millisecond, so the sequence carries into the timestamp
+        for (int i = 0; i < 20_000; i++) {
+            String id = generator.nextId();
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            assertTrue(BookingIdGenerator.decode(id) > BookingIdGenerator.decode(previous));
+            previous = id;
+        }
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws InterruptedException {
+        BookingIdGenerator generator = new BookingIdGenerator(0);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void observedIdsKeepTheClockAhead() {
+        BookingIdGenerator generator = new BookingIdGenerator(1);
+        // An ID issued a minute from now, as if written before the wall clock went back
+        long value = BookingIdGenerator.decode(generator.nextId()) + (60_000L << 22);
+        String future = BookingIdGenerator.encode(value);
+
+        BookingIdGenerator restarted = new BookingIdGenerator(1);
+        restarted.observe(future);
+        restarted.observe("BK" + System.currentTimeMillis());
+        assertTrue(restarted.nextId().compareTo(future) > 0);
+    }
+
+    @Test
+    void issuedAtReadsBothFormats() {
+        long before = System.currentTimeMillis();
+        long issued = BookingIdGenerator.issuedAtMillis(new BookingIdGenerator(2).nextId());
+        assertTrue(issued >= before && issued <= System.currentTimeMillis());
+        // Legacy IDs are the millisecond they were made
+        assertEquals(1763390508327L, BookingIdGenerator.issuedAtMillis("BK1763390508327"));
+        assertEquals(-1, BookingIdGenerator.issuedAtMillis("BK17633905"));
+        assertEquals(-1, BookingIdGenerator.issuedAtMillis("XY1763390508327"));
+        assertEquals(-1, BookingIdGenerator.issuedAtMillis(null));
+    }
+
+    @Test
+    void nodeOutOfRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingIdGenerator(BookingIdGenerator.MAX_NODE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new BookingIdGenerator(-1));
+    }
+}
@@ -0,0 +1,187 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Replay must apply every intact record and stop cleanly at a torn or
+ * damaged tail, leaving the journal ready for new records.
+ */
+class BookingJournalTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void replayAppliesRecordsInOrder() throws IOException {
+        BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        appendRooms(writer, "101", "102", "103");
+        writer.close();
+
+        List<String> replayed = new ArrayList<>();
+        BookingJournal journal = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        assertEquals(3, journal.replay(0, number -> null, collect(replayed)));
+        assertEquals(List.of("101", "102", "103"), replayed);
+        assertEquals(3, journal.lastSequence());
+    }
+
+    @Test
+    void replaySkipsRecordsCoveredBySnapshot() throws IOException {
+        BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        appendRooms(writer, "101", "102", "103");
+        writer.close();
+
+        List<String> replayed = new ArrayList<>();
+        assertEquals(1, new BookingJournal(dir, FsyncPolicy.PER_WRITE).replay(2, number -> null, collect(replayed)));
+        assertEquals(List.of("103"), replayed);
+    }
+
+    @Test
+    void truncatedTailIsDiscardedAndAppendingResumes() throws IOException {
+        BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        appendRooms(writer, "101", "102");
+        File segment = segments()[0];
+        long intact = segment.length();
+        appendRooms(writer, "103");
+        writer.close();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        BookingJournal journal = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        assertEquals(2, journal.replay(0, number -> null, collect(replayed)));
+        assertEquals(List.of("101", "102"), replayed);
+        assertEquals(intact, segment.length());
+
+        appendRooms(journal, "104");
+        journal.close();
+        replayed.clear();
+        assertEquals(3, new BookingJournal(dir, FsyncPolicy.PER_WRITE).replay(0, number -> null, collect(replayed)));
+        assertEquals(List.of("101", "102", "104"), replayed);
+    }
+
+    @Test
+    void corruptRecordEndsReplayAndSetsLaterSegmentsAside() throws IOException {
+        BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        appendRooms(writer, "101", "102");
+        writer.rotate();
+        appendRooms(writer, "103");
+        writer.close();
+        File[] written = segments();
+        assertEquals(2, written.length);
+
+        // Flip a payload byte of the second record so its CRC no longer matches
+        try (RandomAccessFile file = new RandomAccessFile(written[0], "rw")) {
+            long at = file.length() - 6;
+            file.seek(at);
+            int value = file.read();
+            file.seek(at);
+            file.write(value ^ 0xFF);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        assertEquals(1, new BookingJournal(dir, FsyncPolicy.PER_WRITE).replay(0, number -> null, collect(replayed)));
+        assertEquals(List.of("101"), replayed);
+        assertEquals(1, segments().length);
+        assertFalse(written[1].exists());
+        assertTrue(new File(written[1].getPath() + ".corrupt").exists());
+    }
+
+    @Test
+    void stringsBeyondTheWriteUtfLimitSurviveReplay() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 70_000; i++) {
+            name.append('x');
+        }
+        BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        appendRooms(writer, name.toString());
+        writer.close();
+
+        List<String> replayed = new ArrayList<>();
+        new BookingJournal(dir, FsyncPolicy.PER_WRITE).replay(0, number -> null, collect(replayed));
+        assertEquals(List.of(name.toString()), replayed);
+    }
+
+    @Test
+    void bookingKeepsItsDaysWhenReplayedInAnotherTimeZone() throws IOException {
+        TimeZone zone = TimeZone.getDefault();
+        Room room = new Room("101", RoomCategory.STANDARD, 100.0, 2);
+        Booking written;
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+            written = new Booking(room, "Guest", "guest@example.com", "555-0100", Days.toDate(20_000),
+                    Days.toDate(20_003), 2);
+            BookingJournal writer = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+            writer.append(List.of(BookingJournal.created(written)), false);
+            writer.close();
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            List<Booking> replayed = new ArrayList<>();
+            new BookingJournal(dir, FsyncPolicy.PER_WRITE).replay(0, number -> room, new BookingJournal.Handler() {
+                public void created(Booking booking) {
+                    replayed.add(booking);
+                }
+
+                public void statusChanged(String bookingId, BookingStatus status) {
+                    fail("Unexpected status change of " + bookingId);
+                }
+
+                public void roomAdded(Room added) {
+                    fail("Unexpected room " + added.getRoomNumber());
+                }
+            });
+
+            assertEquals(1, replayed.size());
+            Booking booking = replayed.get(0);
+            assertEquals(written.getBookingId(), booking.getBookingId());
+            assertEquals(20_000, booking.getCheckInDay());
+            assertEquals(20_003, booking.getCheckOutDay());
+            assertEquals(written.getTotalAmount(), booking.getTotalAmount());
+        } finally {
+            TimeZone.setDefault(zone);
+        }
+    }
+
+    // Appends a ROOM_ADDED record per room number
+    private static void appendRooms(BookingJournal journal, String... roomNumbers) throws IOException {
+        for (String roomNumber : roomNumbers) {
+            journal.append(List.of(BookingJournal.roomAdded(new Room(roomNumber, RoomCategory.STANDARD, 100.0, 2))),
+                    false);
+        }
+    }
+
+    private static BookingJournal.Handler collect(List<String> roomNumbers) {
+        return new BookingJournal.Handler() {
+            public void created(Booking booking) {
+                fail("Unexpected booking " + booking.getBookingId());
+            }
+
+            public void statusChanged(String bookingId, BookingStatus status) {
+                fail("Unexpected status change of " + bookingId);
+            }
+
+            public void roomAdded(Room room) {
+                roomNumbers.add(room.getRoomNumber());
+            }
+        };
+    }
+
+    private File[] segments() {
+        File[] files = dir.listFiles((parent, name) -> name.endsWith(".journal"));
+        Arrays.sort(files);
+        return files;
+    }
+}
@@ -0,0 +1,177 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the HTTP endpoints of a service on an ephemeral loopback port.
+ */
+class BookingServiceTest {
+    @TempDir
+    File dir;
+
+    private HotelManager manager;
+    private BookingService service;
+
+    @BeforeEach
+    void start() throws IOException {
+        manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        service = new BookingService(manager, 0);
+        service.start();
+    }
+
+    @AfterEach
+    void stop() {
+        service.stop();
+        manager.close();
+    }
+
+    @Test
+    void bookingIsCreatedConfirmedAndCancelled() throws IOException {
+        Response created = request("POST", "/bookings", booking("101", 2));
+        assertEquals(201, created.status);
+        assertTrue(created.body.contains("\"status\":\"PENDING\""), created.body);
+        String id = field(created.body, "bookingId");
+
+        Response fetched = request("GET", "/bookings/" + id, null);
+        assertEquals(200, fetched.status);
+        assertTrue(fetched.body.contains("\"checkIn\":\"" + day(10) + "\""), fetched.body);
+
+        assertEquals(200, request("POST", "/bookings/" + id + "/confirm", null).status);
+        assertEquals(409, request("POST", "/bookings/" + id + "/confirm", null).status);
+        Response cancelled = request("POST", "/bookings/" + id + "/cancel", null);
+        assertEquals(200, cancelled.status);
+        assertTrue(cancelled.body.contains("\"status\":\"CANCELLED\""), cancelled.body);
+    }
+
+    @Test
+    void takenRoomIsAConflict() throws IOException {
+        assertEquals(201, request("POST", "/bookings", booking("101", 2)).status);
+        assertEquals(409, request("POST", "/bookings", booking("101", 1)).status);
+    }
+
+    @Test
+    void guestCountOutsideTheRoomCapacityIsABadRequest() throws IOException {
+        assertEquals(400, request("POST", "/bookings", booking("101", 0)).status);
+        assertEquals(400, request("POST", "/bookings", booking("101", 3)).status);
+        assertEquals(400, request("POST", "/bookings", booking("101", 65_537)).status);
+        assertEquals(0, manager.getAllBookings().size());
+    }
+
+    @Test
+    void groupIsBookedWholeOrNotAtAll() throws IOException {
+        Response created = request("POST", "/bookings/group", group("301,302", 2));
+        assertEquals(201, created.status);
+        assertEquals(2, created.body.split("\"bookingId\"").length - 1, created.body);
+        assertEquals(409, request("POST", "/bookings/group", group("201,302", 2)).status);
+        assertEquals(400, request("POST", "/bookings/group", group("201,101", 3)).status);
+        assertEquals(400, request("POST", "/bookings/group", group("201", 0)).status);
+        assertEquals(2, manager.getAllBookings().size());
+    }
+
+    @Test
+    void malformedRequestsAreRejected() throws IOException {
+        assertEquals(400, request("POST", "/bookings", "room=101&checkIn=" + day(10) + "&checkOut=" + day(12))
+                .status);
+        assertEquals(400, request("GET", "/rooms/search?checkIn=tomorrow&checkOut=" + day(12), null).status);
+        assertEquals(404, request("GET", "/bookings/BK0", null).status);
+        assertEquals(404, request("POST", "/bookings/BK0/cancel", null).status);
+        assertEquals(404, request("GET", "/bookings/BK0/refund", null).status);
+        assertEquals(405, request("POST", "/rooms/search", "").status);
+    }
+
+    @Test
+    void searchListsFreeRoomsOfTheCategory() throws IOException {
+        assertEquals(201, request("POST", "/bookings", booking("201", 2)).status);
+        Response search = request("GET", "/rooms/search?category=deluxe&guests=2&checkIn=" + day(11)
+                + "&checkOut=" + day(13), null);
+        assertEquals(200, search.status);
+        assertTrue(search.body.startsWith("[{\"roomNumber\":\"202\""), search.body);
+        assertEquals(2, search.body.split("\"roomNumber\"").length - 1);
+    }
+
+    @Test
+    void availabilityCountsFreeRoomsWithinTheCalendar() throws IOException {
+        assertEquals(201, request("POST", "/bookings", booking("101", 2)).status);
+        Response availability = request("GET", "/rooms/availability?checkIn=" + day(11) + "&checkOut=" + day(13),
+                null);
+        assertEquals(200, availability.status);
+        assertTrue(availability.body.contains("\"STANDARD\":{\"free\":2,"), availability.body);
+        assertTrue(availability.body.contains("\"total\":7"), availability.body);
+
+        assertEquals(400, request("GET", "/rooms/availability?checkIn=" + day(-1) + "&checkOut=" + day(1), null)
+                .status);
+        assertEquals(400, request("GET", "/rooms/availability?checkIn=" + day(10) + "&checkOut=" + day(10_000),
+                null).status);
+    }
+
+    private static String booking(String room, int guests) {
+        return "room=" + room + "&guestName=Ada+Lovelace&email=ada%40example.com&checkIn=" + day(10)
+                + "&checkOut=" + day(12) + "&guests=" + guests;
+    }
+
+    private static String group(String rooms, int guests) {
+        return "rooms=" + rooms + "&guestName=Ada+Lovelace&checkIn=" + day(10) + "&checkOut=" + day(12)
+                + "&guests=" + guests;
+    }
+
+    private static LocalDate day(int fromToday) {
+        return LocalDate.ofEpochDay(Days.today() + fromToday);
+    }
+
+    private static String field(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":\"([^\"]*)\"").matcher(json);
+        assertTrue(matcher.find(), json);
+        return matcher.group(1);
+    }
+
+    private Response request(String method, String path, String form) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + service.getPort() + path)
+                .openConnection();
+        connection.setRequestMethod(method);
+        if (form != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(form.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                stream.transferTo(body);
+            }
+        }
+        connection.disconnect();
+        return new Response(status, body.toString(StandardCharsets.UTF_8));
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookingStoreTest {
+    private final HotelStats stats = new HotelStats();
+    private final BookingStore store = new BookingStore(stats);
+
+    @Test
+    void rowsAreFoundByIdAndDuplicatesRejected() {
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, add("BK" + i, BookingStatus.PENDING, 10_000));
+        }
+        assertEquals(-1, add("BK7", BookingStatus.CONFIRMED, 10_000));
+        assertEquals(200, store.size());
+        assertEquals(137, store.indexOf("BK137"));
+        assertEquals(-1, store.indexOf("BK200"));
+        assertEquals(-1, store.indexOf(null));
+    }
+
+    @Test
+    void fieldsReadBackWithoutAView() {
+        int row = add("BK1", BookingStatus.PENDING, 29_997);
+        Room room = new Room("101", RoomCategory.STANDARD, 99.99, 2);
+        room.setId(3);
+
+        assertEquals("BK1", store.get(row, BookingStore.Field.ID));
+        assertEquals(3, store.get(row, BookingStore.Field.ROOM_ID));
+        assertEquals("Ada", store.get(row, BookingStore.Field.GUEST_NAME));
+        assertEquals(20_003, store.get(row, BookingStore.Field.CHECK_OUT_DAY));
+        assertEquals(2, store.get(row, BookingStore.Field.GUESTS));
+        assertEquals(29_997L, store.get(row, BookingStore.Field.TOTAL_CENTS));
+        Booking view = store.view(row, room);
+        assertEquals("Ada", view.getGuestName());
+        assertNull(view.getPhone());
+        assertEquals(299.97, view.getTotalAmount());
+    }
+
+    @Test
+    void statusChangesReachTheStats() {
+        int first = add("BK1", BookingStatus.CONFIRMED, 10_000);
+        int second = add("BK2", BookingStatus.PENDING, 5_050);
+        assertEquals(100.0, stats.getTotalRevenue());
+
+        store.setStatus(second, BookingStatus.CONFIRMED);
+        store.setStatus(second, BookingStatus.CONFIRMED);
+        store.setStatus(first, BookingStatus.CANCELLED);
+        assertEquals(BookingStatus.CANCELLED, store.get(first, BookingStore.Field.STATUS));
+        assertEquals(50.5, stats.getTotalRevenue());
+
+        store.clear();
+        assertEquals(0.0, stats.getTotalRevenue());
+        assertEquals(-1, store.indexOf("BK2"));
+    }
+
+    @Test
+    void removedRowsCloseTheGapAndStartANewGeneration() {
+        add("BK1", BookingStatus.CONFIRMED, 10_000);
+        add("BK2", BookingStatus.CONFIRMED, 20_000);
+        add("BK3", BookingStatus.PENDING, 30_000);
+        Room room = new Room("101", RoomCategory.STANDARD, 100.0, 2);
+        room.setId(3);
+        Booking third = store.view(2, room);
+        long generation = store.getGeneration();
+
+        assertEquals(1, store.removeRows(row -> store.getId(row).equals("BK2")));
+        assertEquals(generation + 1, store.getGeneration());
+        assertEquals(2, store.size());
+        assertEquals(1, store.indexOf("BK3"));
+        assertEquals(-1, store.indexOf("BK2"));
+        assertEquals("Ada", store.get(1, BookingStore.Field.GUEST_NAME));
+        assertEquals(100.0, stats.getTotalRevenue());
+
+        // A view made before the removal finds its booking again by ID
+        third.setStatus(BookingStatus.CONFIRMED);
+        assertEquals(BookingStatus.CONFIRMED, store.getStatus(1));
+        assertEquals(BookingStatus.CONFIRMED, store.getStatus(0));
+        assertEquals(400.0, stats.getTotalRevenue());
+    }
+
+    private int add(String id, BookingStatus status, long cents) {
+        return store.add(id, 3, "Ada", "ada@example.com", null, 20_000, 20_003, 2, status, cents,
+                1_700_000_000_000L);
+    }
+}
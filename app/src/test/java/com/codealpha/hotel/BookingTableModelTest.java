@@ -0,0 +1,115 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The model must announce exactly the rows that changed, so the table keeps
+ * its selection and repaints no more than it has to.
+ */
+class BookingTableModelTest {
+    @TempDir
+    File dir;
+
+    private HotelManager manager;
+    private BookingTableModel model;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    void open() {
+        manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        model = new BookingTableModel(manager);
+        model.addTableModelListener(this::record);
+    }
+
+    @AfterEach
+    void close() {
+        manager.close();
+    }
+
+    @Test
+    void refreshAnnouncesOnlyChangedAndAddedRows() {
+        Booking first = book("101");
+        book("102");
+        Booking third = book("103");
+        model.reload();
+        events.clear();
+
+        model.refresh();
+        assertEquals(List.of(), events);
+
+        manager.confirmBooking(first.getBookingId());
+        manager.cancelBooking(third.getBookingId());
+        book("201");
+        model.refresh();
+        assertEquals(List.of("update 0-0", "update 2-2", "insert 3-3"), events);
+        assertEquals(4, model.getRowCount());
+    }
+
+    @Test
+    void bookingChangedRepaintsItsRowOnce() {
+        book("101");
+        Booking second = book("102");
+        model.reload();
+        events.clear();
+
+        Booking added = book("201");
+        model.bookingChanged(added);
+        assertEquals(List.of("insert 2-2"), events);
+
+        events.clear();
+        manager.confirmBooking(second.getBookingId());
+        model.bookingChanged(second);
+        model.bookingChanged(second);
+        assertEquals(List.of("update 1-1"), events);
+    }
+
+    @Test
+    void newBookingIsInsertedBeforeTheArchivedRows() {
+        Booking past = manager.createBooking("101", "Guest", "guest@example.com", "555-0100",
+                Days.toDate(Days.today() - 40), Days.toDate(Days.today() - 38), 1);
+        book("102");
+        model.reload();
+        events.clear();
+
+        assertEquals(1, manager.archivePastBookings());
+        model.refresh();
+        assertEquals(List.of("reload"), events);
+        assertEquals(past.getBookingId(), model.getValueAt(1, 0));
+
+        events.clear();
+        model.bookingChanged(book("201"));
+        assertEquals(List.of("insert 1-1"), events);
+        assertEquals(3, model.getRowCount());
+        assertEquals(past.getBookingId(), model.getValueAt(2, 0));
+        assertEquals(BookingStatus.CANCELLED, model.getValueAt(2, 8));
+    }
+
+    private Booking book(String roomNumber) {
+        return manager.createBooking(roomNumber, "Guest", "guest@example.com", "555-0100",
+                Days.toDate(Days.today() + 10), Days.toDate(Days.today() + 12), 1);
+    }
+
+    private void record(TableModelEvent event) {
+        switch (event.getType()) {
+            case TableModelEvent.INSERT:
+                events.add("insert " + event.getFirstRow() + "-" + event.getLastRow());
+                break;
+            case TableModelEvent.DELETE:
+                events.add("delete " + event.getFirstRow() + "-" + event.getLastRow());
+                break;
+            default:
+                events.add(event.getLastRow() == Integer.MAX_VALUE ? "reload"
+                        : "update " + event.getFirstRow() + "-" + event.getLastRow());
+        }
+    }
+}
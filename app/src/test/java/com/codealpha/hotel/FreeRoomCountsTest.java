@@ -0,0 +1,85 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FreeRoomCountsTest {
+    private static final int DAYS = 100;
+
+    @Test
+    void minimumMatchesCountingDayByDay() {
+        RoomCategory[] categories = RoomCategory.values();
+        int[][] expected = new int[categories.length][DAYS];
+        FreeRoomCounts counts = new FreeRoomCounts(DAYS);
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            RoomCategory category = categories[random.nextInt(categories.length)];
+            int from = random.nextInt(DAYS);
+            int to = from + 1 + random.nextInt(DAYS - from);
+            int delta = random.nextInt(5) - 2;
+            counts.add(category, from, to, delta);
+            for (int day = from; day < to; day++) {
+                expected[category.ordinal()][day] += delta;
+            }
+
+            int queryFrom = random.nextInt(DAYS);
+            int queryTo = queryFrom + 1 + random.nextInt(DAYS - queryFrom);
+            for (RoomCategory queried : categories) {
+                assertEquals(min(expected, queried, queryFrom, queryTo), counts.min(queried, queryFrom, queryTo));
+            }
+            assertEquals(min(expected, null, queryFrom, queryTo), counts.min(null, queryFrom, queryTo));
+        }
+    }
+
+    @Test
+    void emptyRangeAddChangesNothing() {
+        FreeRoomCounts counts = new FreeRoomCounts(DAYS);
+        counts.add(RoomCategory.SUITE, 0, DAYS, 3);
+        counts.add(RoomCategory.SUITE, 40, 40, -3);
+        assertEquals(3, counts.min(RoomCategory.SUITE, 0, DAYS));
+        assertEquals(0, counts.min(RoomCategory.STANDARD, 0, DAYS));
+
+        counts.clear();
+        assertEquals(0, counts.min(null, 0, DAYS));
+    }
+
+    @Test
+    void calendarCountsTheBusiestNight() {
+        Room first = room("101", 0);
+        Room second = room("102", 1);
+        OccupancyCalendar calendar = new OccupancyCalendar(20_000, List.of(first, second));
+        calendar.occupy(0, 20_010, 20_012);
+        calendar.occupy(1, 20_011, 20_013);
+
+        assertEquals(2, calendar.freeRoomCount(RoomCategory.STANDARD, 20_000, 20_010));
+        assertEquals(1, calendar.freeRoomCount(RoomCategory.STANDARD, 20_010, 20_011));
+        assertEquals(0, calendar.freeRoomCount(RoomCategory.STANDARD, 20_009, 20_013));
+        assertEquals(0, calendar.freeRoomCount(RoomCategory.SUITE, 20_000, 20_001));
+        calendar.release(0, 20_010, 20_012);
+        assertEquals(1, calendar.freeRoomCount(null, 20_009, 20_013));
+    }
+
+    private static int min(int[][] expected, RoomCategory category, int from, int to) {
+        int fewest = Integer.MAX_VALUE;
+        for (int day = from; day < to; day++) {
+            int free = 0;
+            for (int c = 0; c < expected.length; c++) {
+                if (category == null || category.ordinal() == c) {
+                    free += expected[c][day];
+                }
+            }
+            fewest = Math.min(fewest, free);
+        }
+        return fewest;
+    }
+
+    private static Room room(String number, int id) {
+        Room room = new Room(number, RoomCategory.STANDARD, 100.0, 2);
+        room.setId(id);
+        return room;
+    }
+}
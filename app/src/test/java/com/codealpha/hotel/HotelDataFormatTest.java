@@ -0,0 +1,117 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HotelDataFormatTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void roomsAndBookingsRoundTrip() throws IOException {
+        Room standard = room("101", RoomCategory.STANDARD, 99.99, 2, 0);
+        Room suite = room("301", RoomCategory.SUITE, 350.0, 6, 1);
+        suite.setAvailable(false);
+        Booking booking = new Booking("BK1", standard, "Ada", "ada@example.com", null, Days.toDate(20_000),
+                Days.toDate(20_003), 2, BookingStatus.CONFIRMED, 299.97, new Date(1_700_000_000_000L));
+
+        BookingStore store = new BookingStore(new HotelStats());
+        store.add(booking);
+        BookingStore readStore = new BookingStore(new HotelStats());
+        List<Room> rooms = HotelDataFormat.read(write(List.of(standard, suite), store), readStore);
+
+        assertEquals(2, rooms.size());
+        Room readSuite = rooms.get(1);
+        assertEquals("301", readSuite.getRoomNumber());
+        assertEquals(RoomCategory.SUITE, readSuite.getCategory());
+        assertEquals(350.0, readSuite.getPricePerNight());
+        assertEquals(6, readSuite.getMaxCapacity());
+        assertFalse(readSuite.isAvailable());
+        assertEquals(1, readSuite.getId());
+
+        assertEquals(1, readStore.size());
+        Booking read = readStore.view(0, rooms.get(0));
+        assertEquals("BK1", read.getBookingId());
+        assertEquals(0, readStore.getRoomId(0));
+        assertEquals("Ada", read.getGuestName());
+        assertNull(read.getPhone());
+        assertEquals(20_000, read.getCheckInDay());
+        assertEquals(20_003, read.getCheckOutDay());
+        assertEquals(2, read.getNumberOfGuests());
+        assertEquals(BookingStatus.CONFIRMED, read.getStatus());
+        assertEquals(299.97, read.getTotalAmount());
+        assertEquals(1_700_000_000_000L, read.getBookingDate().getTime());
+    }
+
+    @Test
+    void truncatedDataIsRejected() throws IOException {
+        Room standard = room("101", RoomCategory.STANDARD, 100.0, 2, 0);
+        ByteBuffer data = write(List.of(standard), new BookingStore(new HotelStats()));
+        data.limit(data.limit() - 1);
+        assertThrows(IOException.class, () -> HotelDataFormat.read(data, new BookingStore(new HotelStats())));
+    }
+
+    @Test
+    void legacyDatFilesMigrateToASnapshot() throws IOException {
+        copyResource("rooms.dat");
+        copyResource("bookings.dat");
+
+        HotelManager manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        Booking booking = manager.getBookingById("BK1763390508327");
+        assertEquals(8, manager.getTotalRooms());
+        assertEquals(1, manager.getBookingCount());
+        assertNotNull(booking);
+        assertSame(manager.getRoomByNumber(booking.getRoom().getRoomNumber()), booking.getRoom());
+        manager.close();
+        // Archiving the past stay at startup may have taken a second snapshot
+        assertNotEquals(0, dir.listFiles((parent, name) -> name.endsWith(".snapshot")).length);
+
+        // Reloaded from the snapshot even once the old files are gone
+        Files.delete(new File(dir, "rooms.dat").toPath());
+        Files.delete(new File(dir, "bookings.dat").toPath());
+        HotelManager reopened = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        Booking restored = reopened.getBookingById(booking.getBookingId());
+        assertEquals(8, reopened.getTotalRooms());
+        assertEquals(booking.getCheckInDay(), restored.getCheckInDay());
+        assertEquals(booking.getTotalAmount(), restored.getTotalAmount());
+        assertEquals(booking.getStatus(), restored.getStatus());
+        reopened.close();
+    }
+
+    private static Room room(String number, RoomCategory category, double price, int capacity, int id) {
+        Room room = new Room(number, category, price, capacity);
+        room.setId(id);
+        return room;
+    }
+
+    private static ByteBuffer write(List<Room> rooms, BookingStore store) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HotelDataFormat.write(rooms, store, Channels.newChannel(bytes));
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    // Files saved by the original default-package build, before snapshots existed
+    private void copyResource(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/legacy/" + name)) {
+            Files.copy(in, new File(dir, name).toPath());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bookings against a manager on a temporary data directory, which starts
+ * with the sample rooms 101 to 302.
+ */
+class HotelManagerTest {
+    @TempDir
+    File dir;
+
+    private final List<HotelManager> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeManagers() {
+        for (HotelManager manager : opened) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void racingBookingsOfOneRoomBookItOnce() throws InterruptedException {
+        HotelManager manager = open();
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        Thread[] guests = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            // Every stay covers day 12, some only partly
+            int checkIn = 10 + t % 3;
+            guests[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (book(manager, "101", checkIn, checkIn + 3) != null) {
+                    booked.incrementAndGet();
+                }
+            });
+            guests[t].start();
+        }
+        start.countDown();
+        for (Thread guest : guests) {
+            guest.join();
+        }
+        assertEquals(1, booked.get());
+        assertEquals(1, manager.getAllBookings().size());
+    }
+
+    @Test
+    void backToBackStaysShareTheChangeoverDay() {
+        HotelManager manager = open();
+        assertNotNull(book(manager, "101", 10, 12));
+        assertNotNull(book(manager, "101", 12, 14));
+        assertNotNull(book(manager, "101", 8, 10));
+        assertNull(book(manager, "101", 11, 13));
+        assertNull(book(manager, "101", 10, 10));
+    }
+
+    @Test
+    void searchLeavesOutBookedRooms() {
+        HotelManager manager = open();
+        book(manager, "101", 10, 12);
+        List<String> free = new ArrayList<>();
+        for (Room room : manager.searchRooms(RoomCategory.STANDARD, 2, day(11), day(13))) {
+            free.add(room.getRoomNumber());
+        }
+        assertEquals(List.of("102", "103"), free);
+        assertEquals(1, manager.searchRooms(RoomCategory.STANDARD, 3, day(10), day(12)).size());
+    }
+
+    @Test
+    void groupWithATakenRoomBooksNothing() {
+        HotelManager manager = open();
+        Booking existing = book(manager, "102", 10, 12);
+        int bookings = manager.getBookingCount();
+
+        GroupBookingResult result = manager.createBookings(Arrays.asList(
+                request("101", 10, 12), request("201", 10, 12), request("102", 11, 13)));
+        assertFalse(result.isBooked());
+        assertEquals(2, result.getRejectedIndex());
+        assertEquals(bookings, manager.getBookingCount());
+        assertNotNull(book(manager, "101", 10, 12));
+        assertNotNull(book(manager, "201", 10, 12));
+        assertEquals(BookingStatus.PENDING, manager.getBookingById(existing.getBookingId()).getStatus());
+    }
+
+    @Test
+    void groupOverlappingItselfBooksNothing() {
+        HotelManager manager = open();
+        GroupBookingResult result = manager.createBookings(Arrays.asList(
+                request("101", 10, 12), request("202", 10, 12), request("101", 11, 12)));
+        assertFalse(result.isBooked());
+        assertEquals(2, result.getRejectedIndex());
+        assertEquals(0, manager.getBookingCount());
+
+        result = manager.createBookings(Arrays.asList(request("101", 10, 12), request("101", 12, 13)));
+        assertTrue(result.isBooked());
+        assertEquals(2, manager.getBookingCount());
+    }
+
+    @Test
+    void groupGuestCountMustFitEveryRoom() {
+        HotelManager manager = open();
+        GroupBookingResult result = manager.createBookings(Arrays.asList(request("301", 10, 12),
+                new BookingRequest("101", "Group Guest", "", "", day(10), day(12), 3)));
+        assertFalse(result.isBooked());
+        assertEquals(1, result.getRejectedIndex());
+        assertEquals(0, manager.getBookingCount());
+    }
+
+    @Test
+    void cachedSearchSeesLaterChanges() {
+        HotelManager manager = open();
+        assertEquals(3, manager.searchRooms(RoomCategory.STANDARD, 2, day(10), day(12)).size());
+        Booking booking = book(manager, "101", 11, 13);
+        assertEquals(2, manager.searchRooms(RoomCategory.STANDARD, 2, day(10), day(12)).size());
+        assertTrue(manager.cancelBooking(booking.getBookingId()));
+        assertEquals(3, manager.searchRooms(RoomCategory.STANDARD, 2, day(10), day(12)).size());
+        manager.addRoom(new Room("104", RoomCategory.STANDARD, 100.0, 2));
+        assertEquals(4, manager.searchRooms(RoomCategory.STANDARD, 2, day(10), day(12)).size());
+    }
+
+    @Test
+    void windowsComeInCheckInOrderOnePerGap() {
+        HotelManager manager = open();
+        book(manager, "301", 10, 12);
+        book(manager, "301", 20, 22);
+        book(manager, "302", 11, 15);
+
+        List<String> windows = new ArrayList<>();
+        for (StayWindow window : manager.findAvailableWindows(RoomCategory.SUITE, 2, day(10), 2, 5)) {
+            windows.add(window.getRoom().getRoomNumber() + "@" + (window.getCheckInDay() - Days.today()));
+        }
+        assertEquals(List.of("301@12", "302@15", "301@22"), windows);
+        assertEquals(2, manager.findAvailableWindows(RoomCategory.SUITE, 2, day(10), 2, 2).size());
+    }
+
+    @Test
+    void guestCountMustFitTheRoom() {
+        HotelManager manager = open();
+        assertNull(manager.createBooking("101", "Guest", "", "", day(10), day(12), 0));
+        assertNull(manager.createBooking("101", "Guest", "", "", day(10), day(12), 3));
+        assertNull(manager.createBooking("101", "Guest", "", "", day(10), day(12), 65_538));
+        assertNotNull(manager.createBooking("302", "Guest", "", "", day(10), day(12), 6));
+        assertEquals(1, manager.getAllBookings().size());
+    }
+
+    @Test
+    void archivingSettlesPastStaysFirst() {
+        HotelManager manager = open();
+        Booking paid = book(manager, "101", -40, -38);
+        Booking unpaid = book(manager, "102", -40, -38);
+        Booking upcoming = book(manager, "201", 10, 12);
+        assertTrue(manager.confirmBooking(paid.getBookingId()));
+        assertTrue(manager.confirmBooking(upcoming.getBookingId()));
+        double revenue = manager.getTotalRevenue();
+
+        assertEquals(2, manager.archivePastBookings());
+        assertEquals(1, manager.getAllBookings().size());
+        assertEquals(3, manager.getBookingCount());
+        assertEquals(revenue, manager.getTotalRevenue());
+        assertEquals(BookingStatus.CANCELLED, manager.getBookingById(unpaid.getBookingId()).getStatus());
+        assertEquals(BookingStatus.COMPLETED, manager.getBookingById(paid.getBookingId()).getStatus());
+        // Views handed out before the run still address their own booking
+        assertTrue(manager.cancelBooking(upcoming.getBookingId()));
+        assertEquals(BookingStatus.CANCELLED, upcoming.getStatus());
+        close(manager);
+
+        HotelManager reopened = open();
+        assertEquals(BookingStatus.CANCELLED, reopened.getBookingById(unpaid.getBookingId()).getStatus());
+        assertEquals(paid.getTotalAmount(), reopened.getTotalRevenue());
+        assertEquals(3, reopened.getBookingCount());
+    }
+
+    @Test
+    void snapshotAndJournalSurviveRestart() {
+        HotelManager manager = open();
+        Booking confirmed = book(manager, "101", 10, 12);
+        Booking cancelled = book(manager, "102", 10, 12);
+        assertTrue(manager.confirmBooking(confirmed.getBookingId()));
+        assertTrue(manager.cancelBooking(cancelled.getBookingId()));
+        manager.saveSnapshot();
+        // Recorded only in the journal after the snapshot
+        Booking pending = book(manager, "201", 20, 25);
+        manager.addRoom(new Room("401", RoomCategory.SUITE, 500.0, 4));
+        assertTrue(manager.createBookings(Arrays.asList(request("301", 10, 12), request("302", 10, 12)))
+                .isBooked());
+        close(manager);
+
+        HotelManager reopened = open();
+        assertEquals(9, reopened.getTotalRooms());
+        assertEquals(9, reopened.getAvailableRooms());
+        assertEquals(confirmed.getTotalAmount(), reopened.getTotalRevenue());
+        assertEquals(5, reopened.getAllBookings().size());
+        assertEquals(BookingStatus.CONFIRMED, reopened.getBookingById(confirmed.getBookingId()).getStatus());
+        assertEquals(BookingStatus.CANCELLED, reopened.getBookingById(cancelled.getBookingId()).getStatus());
+        Booking restored = reopened.getBookingById(pending.getBookingId());
+        assertEquals(BookingStatus.PENDING, restored.getStatus());
+        assertEquals("201", restored.getRoom().getRoomNumber());
+        assertEquals(pending.getCheckInDay(), restored.getCheckInDay());
+        assertEquals(pending.getCheckOutDay(), restored.getCheckOutDay());
+        assertEquals(pending.getTotalAmount(), restored.getTotalAmount());
+        assertNull(book(reopened, "101", 11, 13));
+        assertNotNull(book(reopened, "102", 11, 13));
+        assertNotNull(book(reopened, "401", 11, 13));
+        assertNull(book(reopened, "302", 11, 13));
+    }
+
+    @Test
+    void tornJournalTailLosesOnlyTheLastBooking() throws Exception {
+        HotelManager manager = open();
+        Booking kept = book(manager, "101", 10, 12);
+        Booking torn = book(manager, "102", 10, 12);
+        close(manager);
+        File[] segments = dir.listFiles((parent, name) -> name.endsWith(".journal"));
+        Arrays.sort(segments);
+        try (RandomAccessFile file = new RandomAccessFile(segments[segments.length - 1], "rw")) {
+            file.setLength(file.length() - 5);
+        }
+
+        HotelManager reopened = open();
+        assertEquals(1, reopened.getAllBookings().size());
+        assertNotNull(reopened.getBookingById(kept.getBookingId()));
+        assertNull(reopened.getBookingById(torn.getBookingId()));
+        assertNotNull(book(reopened, "102", 10, 12));
+        close(reopened);
+
+        assertEquals(2, open().getAllBookings().size());
+    }
+
+    private HotelManager open() {
+        HotelManager manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        opened.add(manager);
+        return manager;
+    }
+
+    private void close(HotelManager manager) {
+        opened.remove(manager);
+        manager.close();
+    }
+
+    // Books two guests into the room for the stay, counted in days from today
+    private static Booking book(HotelManager manager, String roomNumber, int checkIn, int checkOut) {
+        return manager.createBooking(roomNumber, "Guest", "guest@example.com", "555-0100", day(checkIn),
+                day(checkOut), 2);
+    }
+
+    private static BookingRequest request(String roomNumber, int checkIn, int checkOut) {
+        return new BookingRequest(roomNumber, "Group Guest", "group@example.com", "555-0101", day(checkIn),
+                day(checkOut), 2);
+    }
+
+    private static Date day(int fromToday) {
+        return Days.toDate(Days.today() + fromToday);
+    }
+}
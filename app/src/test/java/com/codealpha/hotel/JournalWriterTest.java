@@ -0,0 +1,100 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A write that fails must be reported to the callers waiting for it and
+ * retried, never counted as written.
+ */
+class JournalWriterTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void submittedRecordsAreWrittenInOrder() throws IOException {
+        FailingJournal journal = new FailingJournal(dir);
+        JournalWriter writer = new JournalWriter(journal, new HotelMetrics(), () -> { });
+        writer.start();
+        long first = writer.submit(room("101"));
+        long second = writer.submit(room("102"));
+        writer.await(second, Durability.SYNCED);
+        writer.await(first, Durability.WRITTEN);
+        writer.close();
+
+        assertEquals(List.of("101", "102"), replay());
+    }
+
+    @Test
+    void failedWriteIsReportedAndRetried() throws IOException {
+        FailingJournal journal = new FailingJournal(dir);
+        JournalWriter writer = new JournalWriter(journal, new HotelMetrics(), () -> { });
+        writer.start();
+        long before = writer.submit(room("101"));
+        writer.await(before, Durability.WRITTEN);
+
+        journal.failuresLeft = 1;
+        long failed = writer.submit(room("102"));
+        assertThrows(IOException.class, () -> writer.await(failed, Durability.WRITTEN));
+        writer.await(before, Durability.WRITTEN);
+        long after = writer.submit(room("103"));
+        assertThrows(IOException.class, () -> writer.await(after, Durability.QUEUED));
+
+        // The writer retries on its own; flushing retries at once
+        writer.flush();
+        writer.await(after, Durability.WRITTEN);
+        writer.await(failed, Durability.WRITTEN);
+        writer.close();
+
+        assertEquals(0, journal.failuresLeft);
+        assertEquals(List.of("101", "102", "103"), replay());
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> replayed = new ArrayList<>();
+        BookingJournal journal = new BookingJournal(dir, FsyncPolicy.PER_WRITE);
+        journal.replay(0, number -> null, new BookingJournal.Handler() {
+            public void created(Booking booking) {
+            }
+
+            public void statusChanged(String bookingId, BookingStatus status) {
+            }
+
+            public void roomAdded(Room room) {
+                replayed.add(room.getRoomNumber());
+            }
+        });
+        assertEquals(replayed.size(), journal.lastSequence());
+        return replayed;
+    }
+
+    private static BookingJournal.Record room(String roomNumber) throws IOException {
+        return BookingJournal.roomAdded(new Room(roomNumber, RoomCategory.STANDARD, 100.0, 2));
+    }
+
+    // Fails as many appends as failuresLeft says before writing anything
+    private static final class FailingJournal extends BookingJournal {
+        volatile int failuresLeft;
+
+        FailingJournal(File directory) {
+            super(directory, FsyncPolicy.PER_WRITE);
+        }
+
+        @Override
+        public synchronized boolean append(List<Record> records, boolean force) throws IOException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("Disk full");
+            }
+            return super.append(records, force);
+        }
+    }
+}
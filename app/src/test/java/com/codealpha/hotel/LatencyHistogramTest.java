@@ -0,0 +1,42 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    @Test
+    void percentilesStayWithinTheBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+        assertEquals(1_000_000, histogram.getCount());
+        assertEquals(1_000_000_000L, histogram.getMaxNanos());
+        assertEquals(500_000_500.0, histogram.getMeanNanos());
+        assertWithin(500_000_000L, histogram.getValueAtPercentile(0.5));
+        assertWithin(990_000_000L, histogram.getValueAtPercentile(0.99));
+        assertEquals(1_000_000_000L, histogram.getValueAtPercentile(1.0));
+    }
+
+    @Test
+    void smallValuesAreExactAndExtremesAreKept() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(0.5));
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(100);
+        assertEquals(0, histogram.getValueAtPercentile(0.1));
+        assertEquals(3, histogram.getValueAtPercentile(0.5));
+        assertEquals(100, histogram.getValueAtPercentile(0.9));
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(1.0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 64, "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,73 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LifecycleSweeperTest {
+    private static final long TTL_MILLIS = 60_000;
+
+    private final List<String> expired = new ArrayList<>();
+    private final List<String> completed = new ArrayList<>();
+    private int sweeps;
+    // Bookings still in the state the sweeper expects; the rest lapse
+    private final Set<String> current = Set.of("hold", "stay");
+
+    private final LifecycleSweeper.Actions actions = new LifecycleSweeper.Actions() {
+        public int expireHolds(List<String> bookingIds) {
+            return apply(bookingIds, expired);
+        }
+
+        public int completeStays(List<String> bookingIds) {
+            return apply(bookingIds, completed);
+        }
+
+        public void swept() {
+            sweeps++;
+        }
+    };
+
+    @Test
+    void holdsExpireAfterTheirTtlAndStaysAfterCheckOut() {
+        long now = System.currentTimeMillis();
+        LifecycleSweeper sweeper = new LifecycleSweeper(actions, true, TTL_MILLIS);
+        sweeper.holdPlaced("hold", now);
+        sweeper.holdPlaced("paid", now);
+        sweeper.stayConfirmed("stay", Days.today() - 1);
+        sweeper.stayConfirmed("upcoming", Days.today() + 3);
+
+        sweeper.sweep(now + TTL_MILLIS / 2);
+        assertEquals(List.of(), expired);
+        assertEquals(List.of("stay"), completed);
+
+        sweeper.sweep(now + TTL_MILLIS + 1000);
+        assertEquals(List.of("hold", "paid"), expired);
+        assertEquals(1, sweeper.getExpiredHolds());
+        assertEquals(1, sweeper.getCompletedStays());
+        assertEquals(1, sweeper.getPendingTimers());
+        assertEquals(2, sweeps);
+    }
+
+    @Test
+    void disabledSweeperKeepsNoTimers() {
+        LifecycleSweeper sweeper = new LifecycleSweeper(actions, false, TTL_MILLIS);
+        sweeper.holdPlaced("hold", System.currentTimeMillis());
+        sweeper.stayConfirmed("stay", Days.today() - 1);
+        assertEquals(0, sweeper.getPendingTimers());
+    }
+
+    private int apply(List<String> bookingIds, List<String> seen) {
+        int changed = 0;
+        for (String bookingId : bookingIds) {
+            seen.add(bookingId);
+            if (current.contains(bookingId)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,103 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyCalendarTest {
+    private static final int BASE_DAY = 20_000;
+
+    @Test
+    void searchMatchesCategoryGuestsAndFreeNights() {
+        List<Room> rooms = rooms(70);
+        OccupancyCalendar calendar = new OccupancyCalendar(BASE_DAY, rooms);
+        occupy(calendar, rooms.get(0), 10, 12);
+        occupy(calendar, rooms.get(66), 11, 13);
+
+        BitSet free = calendar.freeRooms(RoomCategory.STANDARD, 2, BASE_DAY + 10, BASE_DAY + 12);
+        assertFalse(free.get(0));
+        for (int id = 1; id < rooms.size(); id++) {
+            Room room = rooms.get(id);
+            assertEquals(room.getCategory() == RoomCategory.STANDARD && id != 66, free.get(id), "room " + id);
+        }
+
+        // Stays are half-open, so room 0 is free again from its check-out day
+        assertTrue(calendar.freeRooms(null, 1, BASE_DAY + 12, BASE_DAY + 14).get(0));
+        assertTrue(calendar.freeRooms(null, 5, BASE_DAY, BASE_DAY + 1).isEmpty());
+        assertEquals(rooms.size() / 3, calendar.freeRooms(RoomCategory.SUITE, 4, BASE_DAY, BASE_DAY + 1)
+                .cardinality());
+    }
+
+    @Test
+    void releasedStayIsFreeAgain() {
+        List<Room> rooms = rooms(3);
+        OccupancyCalendar calendar = new OccupancyCalendar(BASE_DAY, rooms);
+        calendar.occupy(0, BASE_DAY + 10, BASE_DAY + 12);
+        calendar.release(0, BASE_DAY + 10, BASE_DAY + 12);
+        assertTrue(calendar.freeRooms(null, 1, BASE_DAY + 10, BASE_DAY + 12).get(0));
+    }
+
+    @Test
+    void roomsAddedOneByOneMatchTheBulkConstructor() {
+        List<Room> rooms = rooms(200);
+        OccupancyCalendar bulk = new OccupancyCalendar(BASE_DAY, rooms);
+        OccupancyCalendar incremental = new OccupancyCalendar(BASE_DAY);
+        for (Room room : rooms) {
+            incremental.addRoom(room);
+        }
+        for (int id = 0; id < rooms.size(); id += 7) {
+            occupy(bulk, rooms.get(id), id % 20, id % 20 + 3);
+            occupy(incremental, rooms.get(id), id % 20, id % 20 + 3);
+        }
+
+        for (RoomCategory category : new RoomCategory[] {null, RoomCategory.STANDARD, RoomCategory.DELUXE}) {
+            for (int guests = 1; guests <= 4; guests++) {
+                assertEquals(incremental.freeRooms(category, guests, BASE_DAY + 5, BASE_DAY + 9),
+                        bulk.freeRooms(category, guests, BASE_DAY + 5, BASE_DAY + 9));
+            }
+        }
+    }
+
+    @Test
+    void rolledCalendarKeepsOnlyTheDaysItCovers() {
+        List<Room> rooms = rooms(2);
+        OccupancyCalendar rolled = new OccupancyCalendar(BASE_DAY, rooms);
+        occupy(rolled, rooms.get(0), -2, 2);
+
+        assertTrue(rolled.covers(BASE_DAY, BASE_DAY + OccupancyCalendar.HORIZON_DAYS));
+        assertFalse(rolled.covers(BASE_DAY - 1, BASE_DAY + 1));
+        assertFalse(rolled.covers(BASE_DAY, BASE_DAY + OccupancyCalendar.HORIZON_DAYS + 1));
+        assertFalse(rolled.freeRooms(null, 1, BASE_DAY, BASE_DAY + 1).get(0));
+        assertFalse(rolled.freeRooms(null, 1, BASE_DAY + 1, BASE_DAY + 2).get(0));
+        assertTrue(rolled.freeRooms(null, 1, BASE_DAY + 2, BASE_DAY + 3).get(0));
+
+        // The last day of the horizon can be occupied without touching the day after it
+        occupy(rolled, rooms.get(1), OccupancyCalendar.HORIZON_DAYS - 1, OccupancyCalendar.HORIZON_DAYS + 5);
+        int lastDay = BASE_DAY + OccupancyCalendar.HORIZON_DAYS - 1;
+        assertFalse(rolled.freeRooms(null, 1, lastDay, lastDay + 1).get(1));
+    }
+
+    // Rooms cycling through the categories, each taking 2, 3 and 4 guests in turn
+    private static List<Room> rooms(int count) {
+        RoomCategory[] categories = RoomCategory.values();
+        List<Room> rooms = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) {
+            Room room = new Room(String.valueOf(100 + id), categories[id % categories.length], 100.0,
+                    2 + id % 3);
+            room.setId(id);
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    // Marks a stay, counted in days from the base day
+    private static void occupy(OccupancyCalendar calendar, Room room, int checkIn, int checkOut) {
+        calendar.occupy(room.getId(), BASE_DAY + checkIn, BASE_DAY + checkOut);
+    }
+}
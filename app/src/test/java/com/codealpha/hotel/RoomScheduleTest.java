@@ -0,0 +1,68 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stays are half-open [check-in, check-out), so a guest may check in on the
+ * day the previous one checks out.
+ */
+class RoomScheduleTest {
+    @Test
+    void staysTouchingAtCheckOutDoNotOverlap() {
+        RoomSchedule schedule = new RoomSchedule();
+        schedule.add(0, 10, 12);
+
+        assertTrue(schedule.isFree(12, 14));
+        assertTrue(schedule.isFree(8, 10));
+        assertFalse(schedule.isFree(11, 13));
+        assertFalse(schedule.isFree(9, 11));
+        assertFalse(schedule.isFree(10, 12));
+        assertFalse(schedule.isFree(10, 11));
+        assertFalse(schedule.isFree(9, 13));
+    }
+
+    @Test
+    void freeBetweenTwoStaysOnlyWhenTheGapFits() {
+        RoomSchedule schedule = new RoomSchedule();
+        schedule.add(1, 14, 16);
+        schedule.add(0, 10, 12);
+
+        assertTrue(schedule.isFree(12, 14));
+        assertFalse(schedule.isFree(12, 15));
+        assertFalse(schedule.isFree(11, 14));
+        assertEquals(12, schedule.nextFreeStart(10, 2));
+        assertEquals(16, schedule.nextFreeStart(10, 3));
+    }
+
+    @Test
+    void removedStayFreesItsDays() {
+        RoomSchedule schedule = new RoomSchedule();
+        schedule.add(0, 10, 12);
+        schedule.add(1, 12, 14);
+
+        assertFalse(schedule.remove(0, 12));
+        assertTrue(schedule.remove(1, 12));
+        assertTrue(schedule.isFree(12, 14));
+        assertFalse(schedule.isFree(11, 12));
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    void overlappingStaysExcludeThoseEndingOnTheFirstDay() {
+        RoomSchedule schedule = new RoomSchedule();
+        schedule.add(0, 8, 10);
+        schedule.add(1, 10, 12);
+        schedule.add(2, 12, 14);
+
+        List<Integer> rows = new ArrayList<>();
+        schedule.forEachStayOverlapping(10, 12, (checkInDay, checkOutDay, row) -> rows.add(row));
+        assertEquals(List.of(1), rows);
+    }
+}
@@ -0,0 +1,68 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchCacheTest {
+    private static final Room DELUXE = new Room("201", RoomCategory.DELUXE, 150.0, 3);
+
+    @Test
+    void invalidationDropsOnlyQueriesTheRoomCanAffect() {
+        SearchCache cache = new SearchCache(16);
+        SearchCache.Query overlapping = new SearchCache.Query(RoomCategory.DELUXE, 2, 10, 12);
+        SearchCache.Query anyCategory = new SearchCache.Query(null, 3, 11, 14);
+        SearchCache.Query otherCategory = new SearchCache.Query(RoomCategory.STANDARD, 2, 10, 12);
+        SearchCache.Query tooManyGuests = new SearchCache.Query(RoomCategory.DELUXE, 4, 10, 12);
+        SearchCache.Query endsAtCheckIn = new SearchCache.Query(RoomCategory.DELUXE, 2, 8, 11);
+        for (SearchCache.Query query : List.of(overlapping, anyCategory, otherCategory, tooManyGuests,
+                endsAtCheckIn)) {
+            cache.put(query, List.of(), cache.version());
+        }
+
+        cache.invalidate(DELUXE, 11, 13);
+        assertNull(cache.get(overlapping));
+        assertNull(cache.get(anyCategory));
+        assertNotNull(cache.get(otherCategory));
+        assertNotNull(cache.get(tooManyGuests));
+        assertNotNull(cache.get(endsAtCheckIn));
+        assertEquals(2, cache.getInvalidations());
+
+        cache.invalidate(DELUXE);
+        assertNull(cache.get(endsAtCheckIn));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void resultComputedBeforeAnInvalidationIsNotCached() {
+        SearchCache cache = new SearchCache(16);
+        SearchCache.Query query = new SearchCache.Query(null, 1, 10, 12);
+        long version = cache.version();
+        // A booking lands while the search is still running
+        cache.invalidate(DELUXE, 10, 12);
+        cache.put(query, List.of(DELUXE), version);
+        assertNull(cache.get(query));
+
+        cache.put(query, List.of(DELUXE), cache.version());
+        assertEquals(List.of(DELUXE), cache.get(query));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        SearchCache cache = new SearchCache(2);
+        SearchCache.Query first = new SearchCache.Query(null, 1, 10, 12);
+        SearchCache.Query second = new SearchCache.Query(null, 2, 10, 12);
+        cache.put(first, List.of(), cache.version());
+        cache.put(second, List.of(), cache.version());
+        cache.get(first);
+        cache.put(new SearchCache.Query(null, 3, 10, 12), List.of(), cache.version());
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertEquals(1, cache.getEvictions());
+    }
+}
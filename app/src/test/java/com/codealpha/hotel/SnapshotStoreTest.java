@@ -0,0 +1,51 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SnapshotStoreTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void writtenSnapshotLoadsBack() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir);
+        byte[] payload = "rooms and bookings".getBytes(StandardCharsets.UTF_8);
+        store.write(7, channel -> channel.write(ByteBuffer.wrap(payload)));
+
+        SnapshotStore.Snapshot snapshot = new SnapshotStore(dir).loadLatest();
+        assertEquals(7, snapshot.getSequence());
+        assertEquals(SnapshotStore.VERSION, snapshot.getVersion());
+        assertEquals(ByteBuffer.wrap(payload), snapshot.getPayload());
+    }
+
+    @Test
+    void damagedSnapshotFallsBackToThePreviousOne() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir);
+        store.write(1, channel -> channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        store.write(2, channel -> channel.write(ByteBuffer.wrap(new byte[] {4, 5, 6})));
+        File newest = new File(dir, String.format("hotel-%020d.snapshot", 2));
+        try (RandomAccessFile file = new RandomAccessFile(newest, "rw")) {
+            file.seek(file.length() - 1);
+            file.write(7);
+        }
+
+        SnapshotStore.Snapshot snapshot = store.loadLatest();
+        assertEquals(1, snapshot.getSequence());
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), snapshot.getPayload());
+    }
+
+    @Test
+    void emptyDirectoryHasNoSnapshot() {
+        assertNull(new SnapshotStore(dir).loadLatest());
+    }
+}
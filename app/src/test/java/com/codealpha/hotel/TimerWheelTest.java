@@ -0,0 +1,53 @@
+package com.codealpha.hotel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimerWheelTest {
+    @Test
+    void deadlinesFireOnceTheirTickHasPassed() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+        wheel.schedule(1500, "soon");
+        wheel.schedule(500, "first");
+        // More than a revolution ahead, in the same bucket as tick 5
+        wheel.schedule(20_500, "later");
+
+        assertEquals(List.of(), wheel.advance(999));
+        assertEquals(List.of("first"), wheel.advance(1000));
+        assertEquals(List.of("soon"), wheel.advance(2000));
+        assertEquals(List.of(), wheel.advance(5000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("later"), wheel.advance(21_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void passedDeadlineFiresOnTheNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+        wheel.advance(5000);
+        wheel.schedule(1000, "late");
+        assertEquals(List.of(), wheel.advance(5999));
+        assertEquals(List.of("late"), wheel.advance(6000));
+    }
+
+    @Test
+    void longPauseReturnsEveryDueItemOnce() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(1000, 8, 0);
+        List<Integer> due = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            wheel.schedule(i * 700L, i);
+            due.add(i);
+        }
+        wheel.schedule(2_000_000, 99);
+
+        List<Integer> expired = wheel.advance(1_000_000);
+        expired.sort(null);
+        assertEquals(due, expired);
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(1_000_000));
+    }
+}
@@ -0,0 +1,174 @@
+package com.codealpha.hotel;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the retained heap per booking of the booking indexes HotelManager
+ * keeps, in the object-graph layout it used before BookingStore and in the
+ * current struct-of-arrays layout.
+ *
+ * Usage: BookingFootprint [--rooms N] [--bookings N]
+ *
+ * The object-graph layout is rebuilt here as it was: a list of Booking
+ * objects holding three Dates, a map from booking ID to booking and one
+ * TreeMap of stays per room. Both layouts share the same booking ID and guest
+ * strings, as they do when loaded from a snapshot, so the difference is the
+ * per-booking structure alone. Run with a heap large enough for one layout
+ * at a time, e.g. -Xmx4g for ten million bookings.
+ */
+class BookingFootprint {
+    private static final int GUESTS = 1000;
+
+    // The fields Booking had before its dates and status moved into primitives
+    static class ObjectBooking {
+        String bookingId;
+        int roomId;
+        Room room;
+        String guestName;
+        String email;
+        String phone;
+        Date checkInDate;
+        Date checkOutDate;
+        int numberOfGuests;
+        volatile BookingStatus status;
+        double totalAmount;
+        Date bookingDate;
+        HotelStats stats;
+    }
+
+    private final HotelDataset dataset;
+    private final List<Room> rooms;
+    private final String[] ids;
+    private final String[] names = new String[GUESTS];
+    private final String[] emails = new String[GUESTS];
+    private final String[] phones = new String[GUESTS];
+    private Object retained;
+
+    BookingFootprint(HotelDataset dataset) {
+        this.dataset = dataset;
+        this.rooms = dataset.rooms();
+        ids = new String[dataset.bookingCount];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = HotelDataset.bookingId(i);
+        }
+        for (int i = 0; i < GUESTS; i++) {
+            names[i] = "Guest " + i;
+            emails[i] = "guest" + i + "@example.com";
+            phones[i] = "555-" + i;
+        }
+    }
+
+    private int checkInDay(int i) {
+        return dataset.firstDay + (i / dataset.roomCount) * HotelDataset.SPACING;
+    }
+
+    private static BookingStatus status(int i) {
+        return i % 10 == 0 ? BookingStatus.CANCELLED : i % 3 == 0 ? BookingStatus.PENDING : BookingStatus.CONFIRMED;
+    }
+
+    Object buildObjectGraph() {
+        HotelStats stats = new HotelStats();
+        List<ObjectBooking> bookings = new ArrayList<>();
+        Map<String, ObjectBooking> byId = new ConcurrentHashMap<>();
+        List<TreeMap<Integer, ObjectBooking>> schedules = new ArrayList<>();
+        for (int r = 0; r < rooms.size(); r++) {
+            schedules.add(new TreeMap<>());
+        }
+        Date bookedOn = Days.toDate(dataset.firstDay - 30);
+        for (int i = 0; i < ids.length; i++) {
+            Room room = rooms.get(i % rooms.size());
+            int checkIn = checkInDay(i);
+            ObjectBooking booking = new ObjectBooking();
+            booking.bookingId = ids[i];
+            booking.roomId = room.getId();
+            booking.room = room;
+            booking.guestName = names[i % GUESTS];
+            booking.email = emails[i % GUESTS];
+            booking.phone = phones[i % GUESTS];
+            booking.checkInDate = Days.toDate(checkIn);
+            booking.checkOutDate = Days.toDate(checkIn + HotelDataset.NIGHTS);
+            booking.numberOfGuests = 1 + i % room.getMaxCapacity();
+            booking.status = status(i);
+            booking.totalAmount = HotelDataset.NIGHTS * room.getPricePerNight();
+            booking.bookingDate = new Date(bookedOn.getTime());
+            booking.stats = stats;
+            bookings.add(booking);
+            byId.put(booking.bookingId, booking);
+            if (booking.status != BookingStatus.CANCELLED) {
+                schedules.get(room.getId()).put(checkIn, booking);
+            }
+        }
+        return new Object[] { bookings, byId, schedules };
+    }
+
+    Object buildStore() {
+        BookingStore store = new BookingStore(new HotelStats());
+        List<RoomSchedule> schedules = new ArrayList<>();
+        for (int r = 0; r < rooms.size(); r++) {
+            schedules.add(new RoomSchedule());
+        }
+        long bookedOn = Days.toDate(dataset.firstDay - 30).getTime();
+        for (int i = 0; i < ids.length; i++) {
+            Room room = rooms.get(i % rooms.size());
+            int checkIn = checkInDay(i);
+            BookingStatus status = status(i);
+            int row = store.add(ids[i], room.getId(), names[i % GUESTS], emails[i % GUESTS], phones[i % GUESTS],
+                    checkIn, checkIn + HotelDataset.NIGHTS, 1 + i % room.getMaxCapacity(), status,
+                    HotelDataFormat.toCents(HotelDataset.NIGHTS * room.getPricePerNight()), bookedOn);
+            if (status != BookingStatus.CANCELLED) {
+                schedules.get(room.getId()).add(row, checkIn, checkIn + HotelDataset.NIGHTS);
+            }
+        }
+        return new Object[] { store, schedules };
+    }
+
+    // Heap in use after the collector has settled
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private interface Layout {
+        Object build();
+    }
+
+    private double bytesPerBooking(Layout layout) {
+        long before = usedHeap();
+        retained = layout.build();
+        long after = usedHeap();
+        retained = null;
+        return (after - before) / (double) ids.length;
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = HotelDataGenerator.parseArgs(args);
+            String size = options.getOrDefault("rooms", "1000") + ":" + options.getOrDefault("bookings", "1000000");
+            BookingFootprint footprint = new BookingFootprint(new HotelDataset(size));
+            double objects = footprint.bytesPerBooking(footprint::buildObjectGraph);
+            double columns = footprint.bytesPerBooking(footprint::buildStore);
+            System.out.printf("%d bookings in %d rooms%n", footprint.ids.length, footprint.rooms.size());
+            System.out.printf("%-14s %10.1f bytes/booking%n", "object graph", objects);
+            System.out.printf("%-14s %10.1f bytes/booking%n", "BookingStore", columns);
+            System.out.printf("%-14s %10.1f%%%n", "saved", 100 * (1 - columns / objects));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error measuring footprint: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency per block of rooms booked as one group, against
+ * the same block booked one createBooking call at a time. Every invocation
+ * books the block for the next free night, so each one succeeds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupBookingBenchmark {
+    @Param({"20", "200"})
+    public int rooms;
+
+    @Param({"PER_WRITE", "BATCHED"})
+    public String fsync;
+
+    private HotelDataset dataset;
+    private File dir;
+    private HotelManager manager;
+    private int night;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataset = new HotelDataset(rooms + ":" + rooms * 10);
+        dir = dataset.writeTo("group-bench");
+        System.setProperty("hotel.snapshotInterval", String.valueOf(Integer.MAX_VALUE));
+        System.setProperty("hotel.archiveAfterDays", "-1");
+        System.setProperty("hotel.lifecycleSweep", "false");
+        manager = new HotelManager(dir, FsyncPolicy.parse(fsync, FsyncPolicy.BATCHED));
+        night = dataset.lastDay + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+        HotelDataset.delete(dir);
+    }
+
+    private List<BookingRequest> nextBlock() {
+        int checkIn = night++;
+        List<BookingRequest> block = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            block.add(new BookingRequest(HotelDataset.roomNumber(i), "Tour Group", "tours@example.com", "555-0100",
+                    Days.toDate(checkIn), Days.toDate(checkIn + 1), 1));
+        }
+        return block;
+    }
+
+    @Benchmark
+    public boolean groupBooking() {
+        return manager.createBookings(nextBlock()).isBooked();
+    }
+
+    @Benchmark
+    public int individualBookings() {
+        int booked = 0;
+        for (BookingRequest request : nextBlock()) {
+            if (manager.createBooking(request.getRoomNumber(), request.getGuestName(), request.getEmail(),
+                    request.getPhone(), request.getCheckIn(), request.getCheckOut(), request.getGuests()) != null) {
+                booked++;
+            }
+        }
+        return booked;
+    }
+}
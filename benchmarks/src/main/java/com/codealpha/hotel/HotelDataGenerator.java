@@ -0,0 +1,294 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates production-sized hotels: a room inventory spread over every
+ * RoomCategory and a booking history whose check-ins follow the seasons.
+ *
+ * Usage: HotelDataGenerator --out DIR [--rooms N] [--bookings N]
+ * [--past-days N] [--future-days N] [--cancel-rate R] [--seed N]
+ * [--ops N --ops-out FILE]
+ *
+ * The hotel is written as a snapshot into DIR, ready for the application or
+ * LoadDriver to open. With --ops an operation stream for LoadDriver is
+ * written as well.
+ */
+class HotelDataGenerator {
+    // Share of the inventory per category, in RoomCategory order
+    private static final double[] CATEGORY_MIX = {0.6, 0.3, 0.1};
+    private static final int[][] CAPACITIES = {{1, 2, 2, 3}, {2, 2, 3, 4}, {2, 4, 4, 6}};
+    private static final double[] BASE_PRICES = {100.0, 200.0, 350.0};
+
+    // Relative demand per month, January first; summer and December peak
+    private static final double[] MONTH_DEMAND = {0.7, 0.7, 0.85, 0.95, 1.05, 1.3, 1.5, 1.5, 1.0, 0.9, 0.8, 1.2};
+    private static final double WEEKEND_DEMAND = 1.25;
+    // Relative frequency of stays of 1..14 nights
+    private static final double[] STAY_LENGTHS = {25, 25, 18, 10, 7, 5, 6, 1, 0.8, 0.6, 0.5, 0.4, 0.3, 0.4};
+    private static final double[] PARTY_SIZES = {25, 50, 12, 10, 2, 1};
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Ravi", "Aisha", "Chen", "Sofia", "Liam",
+            "Priya", "Noah", "Fatima", "Lucas", "Yuki", "Omar", "Elena", "Kwame", "Ana"};
+    private static final String[] LAST_NAMES = {"Smith", "Reddy", "Garcia", "Khan", "Wang", "Muller", "Silva",
+            "Okafor", "Tanaka", "Rossi", "Nguyen", "Cohen", "Patel", "Kowalski", "Haddad", "Brown"};
+
+    private static final int ATTEMPTS = 8;
+
+    private final int roomCount;
+    private final int bookingCount;
+    private final int firstDay;
+    private final int lastDay;
+    private final double cancelRate;
+    private final Random random;
+    private final Sampler checkInDays;
+    private final Sampler stayLengths = new Sampler(STAY_LENGTHS);
+    private final Sampler partySizes = new Sampler(PARTY_SIZES);
+    private final Sampler categories = new Sampler(CATEGORY_MIX);
+
+    HotelDataGenerator(int roomCount, int bookingCount, int pastDays, int futureDays, double cancelRate,
+            long seed) {
+        this.roomCount = roomCount;
+        this.bookingCount = bookingCount;
+        this.firstDay = Days.today() - pastDays;
+        this.lastDay = Days.today() + futureDays;
+        this.cancelRate = cancelRate;
+        this.random = new Random(seed);
+        this.checkInDays = new Sampler(seasonalDemand(firstDay, lastDay));
+    }
+
+    private static double[] seasonalDemand(int fromDay, int toDay) {
+        double[] weights = new double[toDay - fromDay];
+        for (int i = 0; i < weights.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(fromDay + i);
+            DayOfWeek day = date.getDayOfWeek();
+            boolean weekend = day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY;
+            weights[i] = MONTH_DEMAND[date.getMonthValue() - 1] * (weekend ? WEEKEND_DEMAND : 1.0);
+        }
+        return weights;
+    }
+
+    /**
+     * Rooms are numbered by floor, 20 to a floor, and registered in order so
+     * each room's id is its position.
+     */
+    List<Room> rooms() {
+        List<Room> rooms = new ArrayList<>(roomCount);
+        RoomCategory[] values = RoomCategory.values();
+        int assigned = 0;
+        for (int c = 0; c < values.length; c++) {
+            int count = c == values.length - 1 ? roomCount - assigned
+                    : (int) Math.round(roomCount * CATEGORY_MIX[c]);
+            count = Math.min(count, roomCount - assigned);
+            for (int i = 0; i < count; i++) {
+                int index = assigned + i;
+                int[] capacities = CAPACITIES[c];
+                int capacity = capacities[random.nextInt(capacities.length)];
+                double price = BASE_PRICES[c] + 10 * (capacity - 2) + 5 * random.nextInt(5);
+                Room room = new Room((index / 20 + 1) + String.format("%02d", index % 20 + 1), values[c],
+                        price, capacity);
+                room.setId(index);
+                rooms.add(room);
+            }
+            assigned += count;
+        }
+        return rooms;
+    }
+
+    /**
+     * Places bookings into free slots of matching rooms. Cancelled bookings
+     * keep their history but leave the room free. Demand that finds no free
+     * room after a few attempts is dropped, so a saturated hotel yields fewer
+     * bookings than asked for.
+     */
+    List<Booking> bookings(List<Room> rooms) {
+        Map<RoomCategory, List<Room>> byCategory = new HashMap<>();
+        for (Room room : rooms) {
+            byCategory.computeIfAbsent(room.getCategory(), k -> new ArrayList<>()).add(room);
+        }
+        BitSet[] occupied = new BitSet[rooms.size()];
+        for (int i = 0; i < occupied.length; i++) {
+            occupied[i] = new BitSet(lastDay - firstDay);
+        }
+
+        int today = Days.today();
+        long idBase = System.currentTimeMillis() - bookingCount;
+        List<Booking> bookings = new ArrayList<>(bookingCount);
+        RoomCategory[] values = RoomCategory.values();
+        for (int n = 0; n < bookingCount; n++) {
+            List<Room> candidates = byCategory.get(values[categories.next(random)]);
+            if (candidates == null) {
+                continue;
+            }
+            int nights = 1 + stayLengths.next(random);
+            int checkIn = firstDay + checkInDays.next(random);
+            int checkOut = Math.min(checkIn + nights, lastDay);
+            if (checkOut <= checkIn) {
+                continue;
+            }
+            boolean cancelled = random.nextDouble() < cancelRate;
+
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                Room room = candidates.get(random.nextInt(candidates.size()));
+                BitSet days = occupied[room.getId()];
+                int from = checkIn - firstDay;
+                int to = checkOut - firstDay;
+                int taken = days.nextSetBit(from);
+                if (!cancelled && taken >= 0 && taken < to) {
+                    continue;
+                }
+                if (!cancelled) {
+                    days.set(from, to);
+                }
+                BookingStatus status = cancelled ? BookingStatus.CANCELLED
+                        : checkOut <= today || random.nextDouble() < 0.7 ? BookingStatus.CONFIRMED
+                        : BookingStatus.PENDING;
+                int leadDays = (int) Math.min(365, -30 * Math.log(1 - random.nextDouble()));
+                int bookedOn = Math.min(checkIn - leadDays, today);
+                bookings.add(newBooking("BK" + (idBase + n), room, checkIn, checkOut,
+                        Math.min(1 + partySizes.next(random), room.getMaxCapacity()), status, bookedOn));
+                break;
+            }
+        }
+        return bookings;
+    }
+
+    private Booking newBooking(String id, Room room, int checkIn, int checkOut, int guests,
+            BookingStatus status, int bookedOn) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = (first + "." + last).toLowerCase() + random.nextInt(1000) + "@example.com";
+        String phone = String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10000));
+        Date bookingDate = new Date(Days.toDate(bookedOn).getTime() + random.nextInt(86_400_000));
+        return new Booking(id, room, first + " " + last, email, phone, Days.toDate(checkIn),
+                Days.toDate(checkOut), guests, status, (checkOut - checkIn) * room.getPricePerNight(),
+                bookingDate);
+    }
+
+    /**
+     * Writes a LoadDriver operation stream: mostly searches, some bookings
+     * and cancellations of earlier bookings in the same stream, all for
+     * future stays with the same seasonal pattern as the history.
+     */
+    void writeOperations(List<Room> rooms, int count, File file) throws IOException {
+        int today = Days.today();
+        Sampler futureDays = new Sampler(seasonalDemand(today, Math.max(lastDay, today + 1)));
+        List<Integer> bookLines = new ArrayList<>();
+        RoomCategory[] values = RoomCategory.values();
+
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            out.println("# operation stream: SEARCH category guests checkIn checkOut | "
+                    + "BOOK room guests checkIn checkOut | CANCEL bookingId-or-#line");
+            for (int line = 0; line < count; line++) {
+                int checkIn = today + futureDays.next(random);
+                LocalDate from = LocalDate.ofEpochDay(checkIn);
+                LocalDate to = LocalDate.ofEpochDay(checkIn + 1 + stayLengths.next(random));
+                int guests = 1 + partySizes.next(random);
+                double roll = random.nextDouble();
+                if (roll < 0.05 && !bookLines.isEmpty()) {
+                    out.println("CANCEL #" + bookLines.get(random.nextInt(bookLines.size())));
+                } else if (roll < 0.2) {
+                    Room room = rooms.get(random.nextInt(rooms.size()));
+                    out.println("BOOK " + room.getRoomNumber() + " " + Math.min(guests, room.getMaxCapacity())
+                            + " " + from + " " + to);
+                    bookLines.add(line);
+                } else {
+                    out.println("SEARCH " + values[categories.next(random)].name() + " " + guests + " " + from + " " + to);
+                }
+            }
+        }
+    }
+
+    void writeSnapshot(List<Room> rooms, File dir) throws IOException {
+        List<Booking> bookings = bookings(rooms);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        new SnapshotStore(dir).write(0, channel -> HotelDataFormat.write(rooms, bookings, channel));
+        System.out.println("Generated " + rooms.size() + " rooms and " + bookings.size() + " bookings in " + dir);
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length - 1; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    static HotelDataGenerator fromOptions(Map<String, String> options) {
+        return new HotelDataGenerator(
+                Integer.parseInt(options.getOrDefault("rooms", "1000")),
+                Integer.parseInt(options.getOrDefault("bookings", "100000")),
+                Integer.parseInt(options.getOrDefault("past-days", "365")),
+                Integer.parseInt(options.getOrDefault("future-days", "180")),
+                Double.parseDouble(options.getOrDefault("cancel-rate", "0.12")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = parseArgs(args);
+            if (!options.containsKey("out")) {
+                System.err.println("Usage: HotelDataGenerator --out DIR [--rooms N] [--bookings N] [--past-days N]"
+                        + " [--future-days N] [--cancel-rate R] [--seed N] [--ops N --ops-out FILE]");
+                System.exit(2);
+            }
+            HotelDataGenerator generator = fromOptions(options);
+            List<Room> rooms = generator.rooms();
+            generator.writeSnapshot(rooms, new File(options.get("out")));
+            if (options.containsKey("ops")) {
+                File opsFile = new File(options.getOrDefault("ops-out", "operations.txt"));
+                generator.writeOperations(rooms, Integer.parseInt(options.get("ops")), opsFile);
+                System.out.println("Wrote " + options.get("ops") + " operations to " + opsFile);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error generating data: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Draws indexes in proportion to a table of weights.
+     */
+    static class Sampler {
+        private final double[] cumulative;
+
+        Sampler(double[] weights) {
+            cumulative = new double[weights.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        int next(Random random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] <= target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
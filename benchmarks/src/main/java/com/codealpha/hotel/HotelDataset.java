@@ -0,0 +1,95 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds a synthetic hotel on disk so benchmarks start from a realistic
+ * snapshot instead of paying for millions of journaled bookings.
+ *
+ * Sizes are written as "rooms:bookings". Each room carries an equal share of
+ * the bookings as back-to-back two-night stays centred on today, so roughly
+ * half of them are in the past and half still occupy the calendar.
+ */
+class HotelDataset {
+    static final int NIGHTS = 2;
+    static final int SPACING = NIGHTS + 1;
+
+    private static final RoomCategory[] CATEGORIES = RoomCategory.values();
+    private static final int[] CAPACITIES = {2, 2, 3, 4, 6};
+
+    final int roomCount;
+    final int bookingCount;
+    final int firstDay;
+    final int lastDay;
+
+    HotelDataset(String size) {
+        String[] parts = size.split(":");
+        roomCount = Integer.parseInt(parts[0]);
+        bookingCount = Integer.parseInt(parts[1]);
+        int span = ((bookingCount + roomCount - 1) / roomCount) * SPACING;
+        firstDay = Days.today() - span / 2;
+        lastDay = firstDay + span;
+    }
+
+    static String roomNumber(int index) {
+        return String.format("R%05d", index);
+    }
+
+    static String bookingId(int index) {
+        return String.format("BK%09d", index);
+    }
+
+    List<Room> rooms() {
+        List<Room> rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            RoomCategory category = CATEGORIES[i % CATEGORIES.length];
+            Room room = new Room(roomNumber(i), category, 100.0 + 50 * category.ordinal() + i % 7,
+                    CAPACITIES[i % CAPACITIES.length]);
+            room.setId(i);
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    List<Booking> bookings(List<Room> rooms) {
+        List<Booking> bookings = new ArrayList<>(bookingCount);
+        Date bookedOn = Days.toDate(firstDay - 30);
+        for (int i = 0; i < bookingCount; i++) {
+            Room room = rooms.get(i % roomCount);
+            int checkIn = firstDay + (i / roomCount) * SPACING;
+            BookingStatus status = i % 10 == 0 ? BookingStatus.CANCELLED
+                    : i % 3 == 0 ? BookingStatus.PENDING : BookingStatus.CONFIRMED;
+            bookings.add(new Booking(bookingId(i), room, "Guest " + (i % 1000),
+                    "guest" + (i % 1000) + "@example.com", "555-" + (i % 1000),
+                    Days.toDate(checkIn), Days.toDate(checkIn + NIGHTS), 1 + i % room.getMaxCapacity(),
+                    status, NIGHTS * room.getPricePerNight(), bookedOn));
+        }
+        return bookings;
+    }
+
+    /**
+     * Writes the dataset as the only snapshot in a fresh temporary directory.
+     */
+    File writeTo(String prefix) throws IOException {
+        File dir = Files.createTempDirectory(prefix).toFile();
+        List<Room> rooms = rooms();
+        List<Booking> bookings = bookings(rooms);
+        new SnapshotStore(dir).write(0, channel -> HotelDataFormat.write(rooms, bookings, channel));
+        return dir;
+    }
+
+    static void delete(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+}
@@ -0,0 +1,119 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady-state cost of the hot HotelManager paths against a loaded hotel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotelManagerBenchmark {
+    private static final int QUERIES = 1024;
+    private static final int WINDOWS = 64;
+
+    @Param({"10:100", "1000:10000", "10000:1000000", "50000:5000000"})
+    public String size;
+
+    private HotelDataset dataset;
+    private File dir;
+    private HotelManager manager;
+
+    private RoomCategory[] queryCategories;
+    private int[] queryGuests;
+    private Date[] queryCheckIns;
+    private Date[] queryCheckOuts;
+    private String[] lookupIds;
+    private Date[] windowCheckIns;
+    private Date[] windowCheckOuts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataset = new HotelDataset(size);
+        dir = dataset.writeTo("hotel-bench");
+        // Keep periodic snapshots out of the mutation measurements
+        System.setProperty("hotel.snapshotInterval", String.valueOf(Integer.MAX_VALUE));
+        // Measure against every generated booking, past stays and stale holds included
+        System.setProperty("hotel.archiveAfterDays", "-1");
+        System.setProperty("hotel.lifecycleSweep", "false");
+        manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+
+        Random random = new Random(42);
+        RoomCategory[] categories = RoomCategory.values();
+        queryCategories = new RoomCategory[QUERIES];
+        queryGuests = new int[QUERIES];
+        queryCheckIns = new Date[QUERIES];
+        queryCheckOuts = new Date[QUERIES];
+        lookupIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryCategories[i] = categories[random.nextInt(categories.length)];
+            queryGuests[i] = 1 + random.nextInt(4);
+            int checkIn = Days.today() + random.nextInt(Math.max(1, dataset.lastDay - Days.today()) + 30);
+            queryCheckIns[i] = Days.toDate(checkIn);
+            queryCheckOuts[i] = Days.toDate(checkIn + 1 + random.nextInt(7));
+            lookupIds[i] = HotelDataset.bookingId(random.nextInt(dataset.bookingCount));
+        }
+
+        // Booking windows past every generated stay, so each one starts out free
+        windowCheckIns = new Date[WINDOWS];
+        windowCheckOuts = new Date[WINDOWS];
+        for (int i = 0; i < WINDOWS; i++) {
+            int checkIn = dataset.lastDay + 1 + i * HotelDataset.SPACING;
+            windowCheckIns[i] = Days.toDate(checkIn);
+            windowCheckOuts[i] = Days.toDate(checkIn + HotelDataset.NIGHTS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+        HotelDataset.delete(dir);
+    }
+
+    @Benchmark
+    public Object searchRooms() {
+        int i = next++ & (QUERIES - 1);
+        return manager.searchRooms(queryCategories[i], queryGuests[i], queryCheckIns[i], queryCheckOuts[i]);
+    }
+
+    @Benchmark
+    public boolean createAndCancelBooking() {
+        int slot = next++;
+        int window = (slot / dataset.roomCount) % WINDOWS;
+        Booking booking = manager.createBooking(HotelDataset.roomNumber(slot % dataset.roomCount),
+                "Bench Guest", "bench@example.com", "555-0000",
+                windowCheckIns[window], windowCheckOuts[window], 1);
+        return booking != null && manager.cancelBooking(booking.getBookingId());
+    }
+
+    @Benchmark
+    public Object getBookingById() {
+        return manager.getBookingById(lookupIds[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public double getTotalRevenue() {
+        return manager.getTotalRevenue();
+    }
+}
@@ -0,0 +1,221 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a stream of search/book/cancel operations against HotelManager at
+ * a target rate and reports throughput and latency percentiles.
+ *
+ * Usage: LoadDriver --data DIR (--ops FILE | --generate N) [--rate OPS_PER_SEC]
+ * [--threads N] and, when DIR holds no hotel yet, the HotelDataGenerator
+ * options to create one.
+ *
+ * Operations are scheduled open-loop: each one has an intended start time
+ * derived from the rate, and its latency is measured from that time, so a
+ * stall shows up in the percentiles instead of silently slowing the run.
+ * With --rate 0 operations are issued as fast as the threads allow.
+ *
+ * The stream has one operation per line; blank lines and lines starting
+ * with '#' are skipped:
+ *   SEARCH category guests checkIn checkOut
+ *   BOOK roomNumber guests checkIn checkOut
+ *   CANCEL bookingId | #n   (#n is the booking made by operation n)
+ */
+class LoadDriver {
+    enum Kind { SEARCH, BOOK, CANCEL }
+
+    static class Operation {
+        final Kind kind;
+        final String[] args;
+
+        Operation(Kind kind, String[] args) {
+            this.kind = kind;
+            this.args = args;
+        }
+    }
+
+    private final HotelManager manager;
+    private final List<Operation> operations;
+    private final AtomicReferenceArray<String> createdIds;
+    private final long[] latencies;
+    private final boolean[] failed;
+    private final AtomicInteger next = new AtomicInteger();
+
+    LoadDriver(HotelManager manager, List<Operation> operations) {
+        this.manager = manager;
+        this.operations = operations;
+        this.createdIds = new AtomicReferenceArray<>(operations.size());
+        this.latencies = new long[operations.size()];
+        this.failed = new boolean[operations.size()];
+    }
+
+    static List<Operation> parse(List<String> lines) {
+        List<Operation> operations = new ArrayList<>();
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            Kind kind = Kind.valueOf(parts[0].toUpperCase());
+            int expected = kind == Kind.CANCEL ? 2 : 5;
+            if (parts.length != expected) {
+                throw new IllegalArgumentException("Malformed operation: " + line);
+            }
+            operations.add(new Operation(kind, Arrays.copyOfRange(parts, 1, parts.length)));
+        }
+        return operations;
+    }
+
+    /**
+     * Runs every operation once across the given threads and returns the
+     * elapsed wall time in nanoseconds.
+     */
+    long run(int threads, double rate) throws InterruptedException {
+        long intervalNanos = rate > 0 ? (long) (1_000_000_000L / rate) : 0;
+        long start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < operations.size()) {
+                    long intended = start + index * intervalNanos;
+                    long now;
+                    while ((now = System.nanoTime()) < intended) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+                    long began = intervalNanos > 0 ? intended : now;
+                    failed[index] = !execute(index, operations.get(index));
+                    latencies[index] = System.nanoTime() - began;
+                }
+            }, "load-driver-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private boolean execute(int index, Operation op) {
+        switch (op.kind) {
+            case SEARCH:
+                manager.searchRooms(RoomCategory.valueOf(op.args[0]), Integer.parseInt(op.args[1]),
+                        date(op.args[2]), date(op.args[3]));
+                return true;
+            case BOOK:
+                Booking booking = manager.createBooking(op.args[0], "Load Driver", "load@example.com",
+                        "555-0100", date(op.args[2]), date(op.args[3]), Integer.parseInt(op.args[1]));
+                if (booking == null) {
+                    return false;
+                }
+                createdIds.set(index, booking.getBookingId());
+                return true;
+            case CANCEL:
+                String id = op.args[0];
+                if (id.startsWith("#")) {
+                    id = createdIds.get(Integer.parseInt(id.substring(1)));
+                }
+                return id != null && manager.cancelBooking(id);
+            default:
+                return false;
+        }
+    }
+
+    private static Date date(String value) {
+        return Days.toDate((int) LocalDate.parse(value).toEpochDay());
+    }
+
+    void report(long elapsedNanos, double rate) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Replayed %d operations in %.2f s: %.0f ops/s (target %s)%n", operations.size(), seconds,
+                operations.size() / seconds, rate > 0 ? String.format("%.0f ops/s", rate) : "unthrottled");
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n", "op", "count", "failed",
+                "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        for (Kind kind : Kind.values()) {
+            long[] samples = new long[operations.size()];
+            int count = 0;
+            int failures = 0;
+            for (int i = 0; i < operations.size(); i++) {
+                if (operations.get(i).kind == kind) {
+                    samples[count++] = latencies[i];
+                    if (failed[i]) {
+                        failures++;
+                    }
+                }
+            }
+            if (count == 0) {
+                continue;
+            }
+            Arrays.sort(samples, 0, count);
+            System.out.printf("%-8s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", kind, count, failures,
+                    micros(samples, count, 0.50), micros(samples, count, 0.90), micros(samples, count, 0.99),
+                    micros(samples, count, 0.999), samples[count - 1] / 1e3);
+        }
+    }
+
+    private static double micros(long[] sorted, int count, double percentile) {
+        int rank = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))] / 1e3;
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = HotelDataGenerator.parseArgs(args);
+            if (!options.containsKey("data") || !(options.containsKey("ops") || options.containsKey("generate"))) {
+                System.err.println("Usage: LoadDriver --data DIR (--ops FILE | --generate N) [--rate OPS_PER_SEC]"
+                        + " [--threads N] [generator options]");
+                System.exit(2);
+            }
+            File dir = new File(options.get("data"));
+            HotelDataGenerator generator = HotelDataGenerator.fromOptions(options);
+            List<Room> rooms = generator.rooms();
+            File[] existing = dir.listFiles((d, name) -> name.endsWith(".snapshot"));
+            if (existing == null || existing.length == 0) {
+                generator.writeSnapshot(rooms, dir);
+            }
+
+            File opsFile;
+            if (options.containsKey("ops")) {
+                opsFile = new File(options.get("ops"));
+            } else {
+                opsFile = File.createTempFile("operations", ".txt");
+                opsFile.deleteOnExit();
+                generator.writeOperations(rooms, Integer.parseInt(options.get("generate")), opsFile);
+            }
+            List<Operation> operations = parse(Files.readAllLines(opsFile.toPath(), StandardCharsets.UTF_8));
+
+            double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+            int threads = Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            HotelManager manager = new HotelManager(dir,
+                    FsyncPolicy.parse(System.getProperty("hotel.fsync"), FsyncPolicy.BATCHED),
+                    Durability.parse(System.getProperty("hotel.durability"), Durability.WRITTEN));
+            try {
+                LoadDriver driver = new LoadDriver(manager, operations);
+                long elapsed = driver.run(threads, rate);
+                driver.report(elapsed, rate);
+            } finally {
+                manager.close();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error running load: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
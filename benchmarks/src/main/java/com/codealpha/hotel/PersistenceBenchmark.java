@@ -0,0 +1,64 @@
+package com.codealpha.hotel;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold-path cost of writing a full snapshot and of loading the hotel back
+ * from disk. Each call is measured on its own since a large hotel takes
+ * seconds per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"10:100", "1000:10000", "10000:1000000", "50000:5000000"})
+    public String size;
+
+    private File dir;
+    private HotelManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = new HotelDataset(size).writeTo("hotel-bench");
+        System.setProperty("hotel.snapshotInterval", String.valueOf(Integer.MAX_VALUE));
+        System.setProperty("hotel.archiveAfterDays", "-1");
+        System.setProperty("hotel.lifecycleSweep", "false");
+        manager = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+        HotelDataset.delete(dir);
+    }
+
+    @Benchmark
+    public void saveSnapshot() {
+        manager.saveSnapshot();
+    }
+
+    @Benchmark
+    public Object loadData() {
+        HotelManager loaded = new HotelManager(dir, FsyncPolicy.OS_BUFFERED);
+        loaded.close();
+        return loaded;
+    }
+}
@@ -0,0 +1,158 @@
+package com.codealpha.hotel;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the hotel's flight recorder events in a .jfr file: latency
+ * percentiles per event type, then the slowest events, each with the hotel
+ * events its thread recorded while it ran, so a slow booking can be traced
+ * from the GUI action to the search, availability check and disk write.
+ *
+ * Usage: RecordingSummary --file RECORDING.jfr [--top N]
+ *
+ * Record with e.g.
+ * -XX:StartFlightRecording=filename=hotel.jfr,settings=profile. Journal
+ * writes run on the journal-writer thread, so they are listed on their own.
+ */
+class RecordingSummary {
+    private static final String PREFIX = "com.codealpha.hotel.";
+
+    // Latencies, result sizes and bytes of one event type, or of one GUI action or write kind
+    private static class Group {
+        final LatencyHistogram latency = new LatencyHistogram();
+        long results;
+        long bytes;
+    }
+
+    private final List<RecordedEvent> events = new ArrayList<>();
+    private final Map<String, Group> groups = new TreeMap<>();
+
+    RecordingSummary(Path file) throws IOException {
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (event.getEventType().getName().startsWith(PREFIX)) {
+                    add(event);
+                }
+            }
+        }
+        events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+    }
+
+    private void add(RecordedEvent event) {
+        events.add(event);
+        Group group = groups.computeIfAbsent(groupName(event), name -> new Group());
+        group.latency.record(event.getDuration().toNanos());
+        if (event.hasField("resultSize")) {
+            group.results += event.getInt("resultSize");
+        }
+        if (event.hasField("bytes")) {
+            group.bytes += event.getLong("bytes");
+        }
+    }
+
+    private static String groupName(RecordedEvent event) {
+        String name = event.getEventType().getName().substring(PREFIX.length());
+        if (event.hasField("action")) {
+            return name + " " + event.getString("action");
+        }
+        if (event.hasField("kind")) {
+            return name + " " + event.getString("kind");
+        }
+        return name;
+    }
+
+    void printLatencies() {
+        System.out.printf("%-40s %8s %10s %10s %10s %10s %10s %12s%n", "event", "count", "p50 ms", "p90 ms",
+                "p99 ms", "max ms", "results", "bytes");
+        for (Map.Entry<String, Group> entry : groups.entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            System.out.printf("%-40s %8d %10.3f %10.3f %10.3f %10.3f %10d %12d%n", entry.getKey(),
+                    latency.getCount(), millis(latency.getValueAtPercentile(0.5)),
+                    millis(latency.getValueAtPercentile(0.9)), millis(latency.getValueAtPercentile(0.99)),
+                    millis(latency.getMaxNanos()), entry.getValue().results, entry.getValue().bytes);
+        }
+    }
+
+    // The slowest events of the top-level kinds, with what their thread did meanwhile
+    void printSlowest(int top) {
+        List<RecordedEvent> outer = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            if (!name.endsWith(".AvailabilityCheck") && !name.endsWith(".Persistence")) {
+                outer.add(event);
+            }
+        }
+        outer.sort(Comparator.comparing((RecordedEvent event) -> event.getDuration()).reversed());
+        System.out.println();
+        System.out.println("Slowest " + Math.min(top, outer.size()) + " events:");
+        for (RecordedEvent event : outer.subList(0, Math.min(top, outer.size()))) {
+            System.out.println(describe(event, ""));
+            for (RecordedEvent inner : events) {
+                if (inner != event && sameThread(inner, event) && within(inner, event)) {
+                    System.out.println(describe(inner, "    "));
+                }
+            }
+        }
+    }
+
+    private static boolean sameThread(RecordedEvent a, RecordedEvent b) {
+        RecordedThread x = a.getThread();
+        RecordedThread y = b.getThread();
+        return x != null && y != null && x.getJavaThreadId() == y.getJavaThreadId();
+    }
+
+    private static boolean within(RecordedEvent inner, RecordedEvent outer) {
+        Instant start = inner.getStartTime();
+        return !start.isBefore(outer.getStartTime()) && !inner.getEndTime().isAfter(outer.getEndTime());
+    }
+
+    private static String describe(RecordedEvent event, String indent) {
+        StringBuilder line = new StringBuilder(indent);
+        line.append(String.format("%10.3f ms  %s", millis(event.getDuration().toNanos()), groupName(event)));
+        for (String field : new String[] {"category", "guests", "roomNumber", "checkIn", "checkOut", "bookingId", "resultSize",
+                "records", "bytes", "cached", "free", "booked", "confirmed", "cancelled"}) {
+            Object value = event.hasField(field) ? event.getValue(field) : null;
+            if (value != null) {
+                line.append(' ').append(field).append('=').append(value);
+            }
+        }
+        RecordedThread thread = event.getThread();
+        if (indent.isEmpty() && thread != null) {
+            line.append("  [").append(thread.getJavaName()).append(']');
+        }
+        return line.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = HotelDataGenerator.parseArgs(args);
+            if (!options.containsKey("file")) {
+                System.err.println("Usage: RecordingSummary --file RECORDING.jfr [--top N]");
+                System.exit(1);
+            }
+            RecordingSummary summary = new RecordingSummary(Paths.get(options.get("file")));
+            summary.printLatencies();
+            summary.printSlowest(Integer.parseInt(options.getOrDefault("top", "10")));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading recording: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}